@@ -0,0 +1,53 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The first page of an owner's bookings in every state, by offset and by cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"ALL", "CURRENT", "PAST", "FUTURE", "WAITING", "REJECTED"})
+    private BookingState state;
+
+    private SeededServer server;
+    private BookingService bookingService;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new SeededServer();
+        bookingService = server.getBean(BookingService.class);
+        ownerId = server.getOwnerId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<BookingResponse> getAllOwnerByOffset() {
+        return bookingService.getAllOwner(ownerId, state, 0, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public List<BookingResponse> getAllOwnerByCursor() {
+        return bookingService.getAllOwner(ownerId, state, (BookingCursor) null, PAGE_SIZE);
+    }
+}
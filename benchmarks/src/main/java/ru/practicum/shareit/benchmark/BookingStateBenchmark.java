@@ -0,0 +1,27 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.BookingState;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the {@code state} request parameter: the first constant, a late one in another case and a miss.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BookingStateBenchmark {
+
+    @Param({"ALL", "rejected", "UNKNOWN"})
+    private String state;
+
+    @Benchmark
+    public Optional<BookingState> from() {
+        return BookingState.from(state);
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk creation of items and bookings, {@value #ROWS} rows per transaction, reported per row. A JDBC batch size
+ * of 1 turns batching off, which is what identity ids forced on every insert before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@OperationsPerInvocation(BulkInsertBenchmark.ROWS)
+public class BulkInsertBenchmark {
+
+    static final int ROWS = 100;
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private SeededServer server;
+    private TransactionTemplate transaction;
+    private UserRepository userRepository;
+    private ItemRepository itemRepository;
+    private BookingRepository bookingRepository;
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+    private LocalDateTime start;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new SeededServer("spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        transaction = new TransactionTemplate(server.getBean(PlatformTransactionManager.class));
+        userRepository = server.getBean(UserRepository.class);
+        itemRepository = server.getBean(ItemRepository.class);
+        bookingRepository = server.getBean(BookingRepository.class);
+        ownerId = server.getOwnerId();
+        bookerId = server.getBookerId();
+        itemId = server.getBean(ItemService.class).getAllByUserId(ownerId).get(0).getId();
+        start = LocalDateTime.now().plusYears(1);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+    }
+
+    @Benchmark
+    public List<Item> createItems() {
+        return transaction.execute(status -> {
+            var owner = userRepository.getReferenceById(ownerId);
+            var items = new ArrayList<Item>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                var item = new Item();
+                item.setName("Стремянка");
+                item.setDescription("Алюминиевая №" + i);
+                item.setAvailable(true);
+                item.setOwner(owner);
+                items.add(item);
+            }
+            return itemRepository.saveAll(items);
+        });
+    }
+
+    @Benchmark
+    public List<Booking> createBookings() {
+        return transaction.execute(status -> {
+            var booker = userRepository.getReferenceById(bookerId);
+            var item = itemRepository.getReferenceById(itemId);
+            var bookings = new ArrayList<Booking>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                var booking = new Booking();
+                booking.setStart(start.plusDays(i));
+                booking.setEnd(start.plusDays(i + 1));
+                booking.setBooker(booker);
+                booking.setItem(item);
+                booking.setStatus(BookingStatus.WAITING);
+                bookings.add(booking);
+            }
+            return bookingRepository.saveAll(bookings);
+        });
+    }
+}
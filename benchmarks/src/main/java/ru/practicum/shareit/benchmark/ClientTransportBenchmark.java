@@ -0,0 +1,114 @@
+package ru.practicum.shareit.benchmark;
+
+import feign.Client;
+import feign.Request;
+import feign.httpclient.ApacheHttpClient;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import ru.practicum.shareit.item.ItemService;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code GET /items/{id}} against the running server from {@value #THREADS} threads over the transports the
+ * gateway's Feign clients can use: Feign's default {@code HttpURLConnection} client, whose keep-alive cache holds
+ * five connections per host; Apache HttpClient with a pool of {@value #POOL_SIZE}; and the JDK client over
+ * HTTP/2 cleartext. The item view is cached by the server, so the transport dominates the call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(ClientTransportBenchmark.THREADS)
+public class ClientTransportBenchmark {
+
+    static final int THREADS = 16;
+    static final int POOL_SIZE = 50;
+
+    public enum Transport { DEFAULT, POOLED, H2C }
+
+    @Param({"DEFAULT", "POOLED", "H2C"})
+    private Transport transport;
+
+    private SeededServer server;
+    private Client feignClient;
+    private CloseableHttpClient pooledClient;
+    private HttpClient h2cClient;
+    private Request.Options options;
+    private String url;
+    private Long ownerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        server = new SeededServer(WebApplicationType.SERVLET, "server.port=0");
+        ownerId = server.getOwnerId();
+        var itemId = server.getBean(ItemService.class).getAllByUserId(ownerId).get(0).getId();
+        url = "http://localhost:" + server.getPort() + "/items/" + itemId;
+        options = new Request.Options(1, TimeUnit.SECONDS, 10, TimeUnit.SECONDS, true);
+
+        switch (transport) {
+            case DEFAULT:
+                feignClient = new Client.Default(null, null);
+                break;
+            case POOLED:
+                var connectionManager = new PoolingHttpClientConnectionManager();
+                connectionManager.setMaxTotal(POOL_SIZE);
+                connectionManager.setDefaultMaxPerRoute(POOL_SIZE);
+                pooledClient = HttpClients.custom()
+                        .setConnectionManager(connectionManager)
+                        .disableCookieManagement()
+                        .build();
+                feignClient = new ApacheHttpClient(pooledClient);
+                break;
+            case H2C:
+                h2cClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_2)
+                        .connectTimeout(Duration.ofSeconds(1))
+                        .build();
+                break;
+            default:
+                throw new IllegalStateException("Unknown transport: " + transport);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        if (pooledClient != null) {
+            pooledClient.close();
+        }
+        server.close();
+    }
+
+    @Benchmark
+    public byte[] getItem() throws IOException, InterruptedException {
+        if (transport == Transport.H2C) {
+            var request = HttpRequest.newBuilder(URI.create(url))
+                    .header("X-Sharer-User-Id", ownerId.toString())
+                    .timeout(Duration.ofSeconds(10))
+                    .build();
+            try (var body = h2cClient.send(request, HttpResponse.BodyHandlers.ofInputStream()).body()) {
+                return body.readAllBytes();
+            }
+        }
+        var request = Request.create(Request.HttpMethod.GET, url,
+                Map.of("X-Sharer-User-Id", List.of(ownerId.toString())), null, StandardCharsets.UTF_8, null);
+        try (var response = feignClient.execute(request, options); InputStream body = response.body().asInputStream()) {
+            return body.readAllBytes();
+        }
+    }
+}
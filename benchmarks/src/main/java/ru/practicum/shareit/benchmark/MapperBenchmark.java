@@ -0,0 +1,107 @@
+package ru.practicum.shareit.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bulk entity-to-response conversions of the generated MapStruct mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    private int size;
+
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+
+    @Setup
+    public void setUp() {
+        var owner = user(1L, "Owner");
+        var booker = user(2L, "Booker");
+        var request = new ItemRequest();
+        request.setId(1L);
+        var now = LocalDateTime.now();
+
+        bookings = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        comments = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            var item = new Item();
+            item.setId(i);
+            item.setName("Дрель " + i);
+            item.setDescription("Ударная дрель " + i);
+            item.setAvailable(Boolean.TRUE);
+            item.setOwner(owner);
+            item.setRequest(request);
+            items.add(item);
+
+            var booking = new Booking();
+            booking.setId(i);
+            booking.setStart(now.plusDays(i));
+            booking.setEnd(now.plusDays(i + 1));
+            booking.setItem(item);
+            booking.setBooker(booker);
+            booking.setStatus(BookingStatus.APPROVED);
+            bookings.add(booking);
+
+            var comment = new Comment();
+            comment.setId(i);
+            comment.setText("Отличная дрель " + i);
+            comment.setCreated(now);
+            comment.setItem(item);
+            comment.setAuthor(booker);
+            comments.add(comment);
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookingsToResponses() {
+        return bookingMapper.entitiesToBookingResponses(bookings);
+    }
+
+    @Benchmark
+    public List<ItemResponse> itemsToResponses() {
+        return itemMapper.entitiesToItemResponses(items);
+    }
+
+    @Benchmark
+    public List<CommentResponse> commentsToResponses() {
+        return commentMapper.entitiesToCommentResponses(comments);
+    }
+
+    private static User user(Long id, String name) {
+        var user = new User();
+        user.setId(id);
+        user.setName(name);
+        user.setEmail(name.toLowerCase() + "@shareit.ru");
+        return user;
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.benchmark;
+
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import ru.practicum.shareit.ServerApp;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+
+/**
+ * Runs the server, without the web layer unless asked for, on the in-memory H2 database of the {@code ci} profile
+ * and seeds it through the services, so every owner has items with past, current, future, waiting and rejected
+ * bookings.
+ */
+final class SeededServer implements AutoCloseable {
+
+    static final int OWNERS = 10;
+    static final int ITEMS_PER_OWNER = 50;
+
+    private static final List<String> NAMES = List.of("Дрель", "Отвёртка", "Пила", "Лестница", "Молоток");
+    private static final List<String> DESCRIPTIONS = List.of("ударная", "крестовая", "ручная", "складная",
+            "столярный");
+
+    private final ConfigurableApplicationContext context;
+    private final List<Long> ownerIds = new ArrayList<>();
+    private Long bookerId;
+
+    SeededServer(String... properties) {
+        this(WebApplicationType.NONE, properties);
+    }
+
+    SeededServer(WebApplicationType webApplicationType, String... properties) {
+        context = new SpringApplicationBuilder(ServerApp.class)
+                .profiles("ci")
+                .web(webApplicationType)
+                .bannerMode(Banner.Mode.OFF)
+                .properties("logging.level.root=WARN",
+                        "logging.level.org.springframework.transaction.interceptor=WARN",
+                        "logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN")
+                .properties(properties)
+                .run();
+        seed();
+    }
+
+    <T> T getBean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    int getPort() {
+        return context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    Long getOwnerId() {
+        return ownerIds.get(0);
+    }
+
+    Long getBookerId() {
+        return bookerId;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private void seed() {
+        var userService = getBean(UserService.class);
+        var itemService = getBean(ItemService.class);
+        var bookingService = getBean(BookingService.class);
+        var booker = userService.add(new UserDto("Booker", "booker@shareit.ru"));
+        bookerId = booker.getId();
+        var now = LocalDateTime.now();
+
+        for (int o = 0; o < OWNERS; o++) {
+            var owner = userService.add(new UserDto("Owner " + o, "owner" + o + "@shareit.ru"));
+            ownerIds.add(owner.getId());
+            for (int i = 0; i < ITEMS_PER_OWNER; i++) {
+                var name = NAMES.get(i % NAMES.size()) + " " + DESCRIPTIONS.get(o % DESCRIPTIONS.size());
+                var item = itemService.add(new ItemDto(name, "Инструмент №" + i, TRUE, null), owner.getId());
+
+                var past = bookingService.add(new BookingDto(now.minusDays(10), now.minusDays(9), item.getId()),
+                        booker.getId());
+                bookingService.approve(past.getId(), owner.getId(), TRUE);
+                var current = bookingService.add(new BookingDto(now.minusDays(1), now.plusDays(1), item.getId()),
+                        booker.getId());
+                bookingService.approve(current.getId(), owner.getId(), TRUE);
+                bookingService.add(new BookingDto(now.plusDays(5), now.plusDays(6), item.getId()), booker.getId());
+                var rejected = bookingService.add(new BookingDto(now.plusDays(7), now.plusDays(8), item.getId()),
+                        booker.getId());
+                bookingService.approve(rejected.getId(), owner.getId(), FALSE);
+            }
+        }
+    }
+}
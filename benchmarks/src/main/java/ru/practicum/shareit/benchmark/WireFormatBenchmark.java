@@ -0,0 +1,72 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing a page of booking responses on the server and reading it back on the gateway, in JSON and in Smile,
+ * with mappers built the way both applications build them. The encoded size of a page is logged at setup.
+ */
+@Slf4j
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<BookingResponse>> BOOKINGS = new TypeReference<>() { };
+
+    public enum Format { JSON, SMILE }
+
+    @Param({"JSON", "SMILE"})
+    private Format format;
+
+    @Param({"20", "1000"})
+    private int size;
+
+    private ObjectMapper mapper;
+    private List<BookingResponse> bookings;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        var builder = Jackson2ObjectMapperBuilder.json();
+        if (format == Format.SMILE) {
+            builder.factory(new SmileFactory());
+        }
+        mapper = builder.build();
+
+        var start = LocalDateTime.now();
+        bookings = new ArrayList<>(size);
+        for (long i = 0; i < size; i++) {
+            bookings.add(new BookingResponse(i, start.plusDays(i), start.plusDays(i + 1), 2L, "Петр Бронирующий",
+                    i % 50, "Дрель ударная " + i % 50, BookingStatus.APPROVED));
+        }
+        encoded = mapper.writeValueAsBytes(bookings);
+        log.info("{} page of {} bookings: {} bytes", format, size, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] write() throws IOException {
+        return mapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public List<BookingResponse> read() throws IOException {
+        return mapper.readValue(encoded, BOOKINGS);
+    }
+}
@@ -3,10 +3,12 @@ package ru.practicum.shareit;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import ru.practicum.shareit.client.ClientTransportConfig;
 
 @SpringBootApplication
 @EnableFeignClients(
-        basePackages = "ru.practicum.shareit"
+        basePackages = "ru.practicum.shareit",
+        defaultConfiguration = ClientTransportConfig.class
 )
 public class GatewayApp {
     public static void main(String[] args) {
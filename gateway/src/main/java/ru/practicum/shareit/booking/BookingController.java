@@ -2,6 +2,7 @@ package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
@@ -9,12 +10,17 @@ import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.client.BookingClient;
+import ru.practicum.shareit.util.batch.BatchResult;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import javax.validation.constraints.Min;
 import javax.validation.constraints.Positive;
+import javax.validation.constraints.Size;
+import java.io.IOException;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.MAX_BATCH_SIZE;
 import static ru.practicum.shareit.util.Constants.USER_HEADER;
 
 @Slf4j
@@ -35,6 +41,15 @@ public class BookingController {
         return client.add(userId, dto);
     }
 
+    @PostMapping(consumes = "application/json", path = "/batch")
+    public ResponseEntity<List<BatchResult<BookingResponse>>> addAll(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "batch should have 1 to 1000 bookings")
+            List<@Valid BookingDto> dtos) {
+        log.info("New bookings batch registration of {} bookings; user id {}", dtos.size(), userId);
+        return client.addAll(userId, dtos);
+    }
+
     @PatchMapping(path = "/{id}")
     public ResponseEntity<BookingResponse> approve(
             @RequestHeader(USER_HEADER) Long userId,
@@ -59,9 +74,34 @@ public class BookingController {
             @RequestParam(defaultValue = "0")
             @Min(value = 0, message = "minimum value for from param is 0") Integer from,
             @RequestParam(defaultValue = "10")
-            @Min(value = 1, message = "minimum value for size param is 1") Integer size) {
+            @Min(value = 1, message = "minimum value for size param is 1") Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info("Get owner bookings by user id: {}, state: {} ",  userId, state);
-        return client.getAllOwner(userId, state, from, size);
+        return client.getAllOwner(userId, state, from, size, cursor);
+    }
+
+    /**
+     * Relays the server's export as it streams in, copying the status and content type; the body is never held
+     * in memory here.
+     */
+    @GetMapping(path = "/owner/export")
+    public void exportOwner(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "format", defaultValue = "ndjson") String format,
+            HttpServletResponse response) throws IOException {
+        log.info("Export owner bookings by user id: {}, state: {}, format: {}", userId, state, format);
+        try (var upstream = client.exportOwner(userId, state, format)) {
+            response.setStatus(upstream.status());
+            upstream.headers().getOrDefault(HttpHeaders.CONTENT_TYPE, List.of()).stream()
+                    .findFirst()
+                    .ifPresent(response::setContentType);
+            if (upstream.body() != null) {
+                try (var body = upstream.body().asInputStream()) {
+                    body.transferTo(response.getOutputStream());
+                }
+            }
+        }
     }
 
     @GetMapping
@@ -71,9 +111,10 @@ public class BookingController {
             @RequestParam(defaultValue = "0")
             @Min(value = 0, message = "minimum value for from param is 0") Integer from,
             @RequestParam(defaultValue = "10")
-            @Min(value = 1, message = "minimum value for size param is 1") Integer size) {
+            @Min(value = 1, message = "minimum value for size param is 1") Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info("Get all bookings by user id: {}, state: {} ",  userId, state);
-        return client.getAllBooker(userId, state, from, size);
+        return client.getAllBooker(userId, state, from, size, cursor);
     }
 
 }
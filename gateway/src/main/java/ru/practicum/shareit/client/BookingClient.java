@@ -1,11 +1,13 @@
 package ru.practicum.shareit.client;
 
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.util.batch.BatchResult;
 import static ru.practicum.shareit.util.Constants.USER_HEADER;
 
 import java.util.List;
@@ -20,6 +22,10 @@ public interface BookingClient {
     @ResponseStatus(HttpStatus.CREATED)
     ResponseEntity<BookingResponse> add(@RequestHeader(USER_HEADER) Long userId, @RequestBody BookingDto dto);
 
+    @PostMapping(consumes = "application/json", path = "/batch")
+    ResponseEntity<List<BatchResult<BookingResponse>>> addAll(@RequestHeader(USER_HEADER) Long userId,
+                                                               @RequestBody List<BookingDto> dtos);
+
     @PatchMapping(path = "/{id}")
     ResponseEntity<BookingResponse> approve(@RequestHeader(USER_HEADER) Long userId,
                                             @PathVariable("id") Long id, @RequestParam Boolean approved);
@@ -32,13 +38,25 @@ public interface BookingClient {
             @RequestHeader(USER_HEADER) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor);
+
+    /**
+     * Returned raw so that the body is read off the connection as it arrives instead of being decoded, and so that
+     * an error status comes back as a response rather than an exception.
+     */
+    @GetMapping(path = "/owner/export", produces = {"application/x-ndjson", "text/csv", "application/json"})
+    Response exportOwner(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "format", defaultValue = "ndjson") String format);
 
     @GetMapping
     ResponseEntity<List<BookingResponse>> getAllBooker(
             @RequestHeader(USER_HEADER) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String state,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size);
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor);
 
 }
@@ -0,0 +1,40 @@
+package ru.practicum.shareit.client;
+
+import feign.Request;
+import feign.Response;
+import lombok.Value;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * A response read to the end, so that it can be handed out more than once.
+ */
+@Value
+class BufferedResponse {
+    int status;
+    String reason;
+    Map<String, Collection<String>> headers;
+    byte[] body;
+
+    /**
+     * Reads and closes {@code response}.
+     */
+    static BufferedResponse of(Response response) throws IOException {
+        try (response) {
+            var body = response.body() == null ? new byte[0] : response.body().asInputStream().readAllBytes();
+            return new BufferedResponse(response.status(), response.reason(), Map.copyOf(response.headers()), body);
+        }
+    }
+
+    Response toResponse(Request request) {
+        return Response.builder()
+                .status(status)
+                .reason(reason)
+                .request(request)
+                .headers(headers)
+                .body(body)
+                .build();
+    }
+}
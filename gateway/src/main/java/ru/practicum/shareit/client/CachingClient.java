@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Keeps the last tagged response of every GET per user, URL and {@code Accept} header and revalidates it with
+ * {@code If-None-Match} on each call, so an unchanged resource costs the server a 304 and the hop no body. Only
+ * responses carrying an {@code ETag} are buffered; everything else, the raw export included, passes through.
+ */
+class CachingClient implements Client {
+
+    static final String METRIC = "shareit.client.revalidations";
+
+    private final Client delegate;
+    private final Cache<RequestKey, BufferedResponse> cache;
+    private final Counter notModified;
+    private final Counter modified;
+
+    CachingClient(String name, Client delegate, Cache<RequestKey, BufferedResponse> cache, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.notModified = Counter.builder(METRIC).tag("client", name).tag("outcome", "not_modified")
+                .register(registry);
+        this.modified = Counter.builder(METRIC).tag("client", name).tag("outcome", "modified").register(registry);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+
+        var key = RequestKey.of(request);
+        var cached = cache.getIfPresent(key);
+        var response = delegate.execute(cached == null ? request : conditional(request, tag(cached)), options);
+        if (cached != null && response.status() == 304) {
+            response.close();
+            notModified.increment();
+            return cached.toResponse(request);
+        }
+        if (cached != null) {
+            modified.increment();
+        }
+
+        if (response.status() != 200 || RequestKey.first(response.headers(), HttpHeaders.ETAG) == null) {
+            cache.invalidate(key);
+            return response;
+        }
+        var buffered = BufferedResponse.of(response);
+        cache.put(key, buffered);
+        return buffered.toResponse(request);
+    }
+
+    static int weight(RequestKey key, BufferedResponse response) {
+        return response.getBody().length;
+    }
+
+    private static String tag(BufferedResponse response) {
+        return RequestKey.first(response.getHeaders(), HttpHeaders.ETAG);
+    }
+
+    private static Request conditional(Request request, String tag) {
+        var headers = new LinkedHashMap<>(request.headers());
+        headers.put(HttpHeaders.IF_NONE_MATCH, List.of(tag));
+        return Request.create(request.httpMethod(), request.url(), headers, request.body(), request.charset(),
+                request.requestTemplate());
+    }
+}
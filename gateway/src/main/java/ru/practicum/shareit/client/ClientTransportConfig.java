@@ -0,0 +1,55 @@
+package ru.practicum.shareit.client;
+
+import feign.Client;
+import feign.Request;
+import feign.RequestInterceptor;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Default configuration of every Feign client, instantiated in the client's own context; deliberately not a
+ * {@code @Configuration}, so component scanning does not put its beans into the application context.
+ */
+public class ClientTransportConfig {
+
+    static final String ACCEPT_SMILE = "application/x-jackson-smile, application/json;q=0.9";
+
+    @Bean
+    public Client feignClient(@Value("${feign.client.name}") String name, ClientTransports transports) {
+        return transports.client(name);
+    }
+
+    @Bean
+    public Request.Options feignRequestOptions(@Value("${feign.client.name}") String name,
+                                               ClientTransports transports) {
+        return transports.options(name);
+    }
+
+    /**
+     * Asks the server for Smile unless the mapping declares what it produces, as the raw export does.
+     */
+    @Bean
+    public RequestInterceptor acceptSmileInterceptor() {
+        return template -> {
+            if (!template.headers().containsKey(HttpHeaders.ACCEPT)) {
+                template.header(HttpHeaders.ACCEPT, ACCEPT_SMILE);
+            }
+        };
+    }
+
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers) {
+        return new OptionalDecoder(new UpstreamEntityDecoder(
+                new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers))));
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Transport of each Feign client by client name under {@code shareit.client.<name>}; whatever a client leaves
+ * unset comes from {@code shareit.client.default} and then from {@link #DEFAULTS}.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit")
+public class ClientTransportProperties {
+
+    static final String DEFAULT = "default";
+    static final Transport DEFAULTS = new Transport(Protocol.HTTP_1_1, Duration.ofSeconds(1), Duration.ofSeconds(10),
+            50, Duration.ofSeconds(15), DataSize.ofMegabytes(8), false);
+
+    private Map<String, Transport> client = new HashMap<>();
+
+    public Transport forClient(String name) {
+        return DEFAULTS.overriddenBy(client.get(DEFAULT)).overriddenBy(client.get(name));
+    }
+
+    public enum Protocol {
+        HTTP_1_1,
+        /**
+         * HTTP/2 over cleartext: the first request upgrades the connection and later ones are multiplexed on it.
+         */
+        H2C
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Transport {
+        private Protocol protocol;
+        private Duration connectTimeout;
+        private Duration readTimeout;
+        /**
+         * Pooled HTTP/1.1 connections; each client talks to a single host, so this is also the per-route limit.
+         */
+        private Integer maxConnections;
+        /**
+         * Pooled connections idle for longer are closed, ahead of the server's own keep-alive timeout.
+         */
+        private Duration idleTimeout;
+        /**
+         * Bodies of tagged GET responses kept for revalidation with {@code If-None-Match}; zero turns it off.
+         */
+        private DataSize responseCache;
+        /**
+         * Concurrent identical GETs share one upstream call.
+         */
+        private Boolean coalesce;
+
+        Transport overriddenBy(Transport other) {
+            if (other == null) {
+                return this;
+            }
+            return new Transport(Objects.requireNonNullElse(other.protocol, protocol),
+                    Objects.requireNonNullElse(other.connectTimeout, connectTimeout),
+                    Objects.requireNonNullElse(other.readTimeout, readTimeout),
+                    Objects.requireNonNullElse(other.maxConnections, maxConnections),
+                    Objects.requireNonNullElse(other.idleTimeout, idleTimeout),
+                    Objects.requireNonNullElse(other.responseCache, responseCache),
+                    Objects.requireNonNullElse(other.coalesce, coalesce));
+        }
+    }
+}
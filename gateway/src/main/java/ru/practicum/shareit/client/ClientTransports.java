@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import feign.Client;
+import feign.Request;
+import feign.httpclient.ApacheHttpClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the transport of every Feign client from {@link ClientTransportProperties}. HTTP/1.1 clients get a
+ * keep-alive pool of their own, published as {@code httpcomponents.httpclient.pool.*} tagged with the client
+ * name; H2C clients share one multiplexed connection per host and have no pool to report. Either is wrapped in
+ * a {@link CachingClient} unless its response cache is sized to zero, and that in a {@link CoalescingClient} when
+ * asked for, so that one revalidation serves every waiting caller.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(ClientTransportProperties.class)
+public class ClientTransports implements DisposableBean {
+
+    private final ClientTransportProperties properties;
+    private final MeterRegistry registry;
+    private final List<CloseableHttpClient> pooledClients = new CopyOnWriteArrayList<>();
+
+    public ClientTransports(ClientTransportProperties properties, MeterRegistry registry) {
+        this.properties = properties;
+        this.registry = registry;
+    }
+
+    public Client client(String name) {
+        var transport = properties.forClient(name);
+        log.info("Feign client {} uses {}", name, transport);
+        var client = transport(name, transport);
+        if (transport.getResponseCache().toBytes() > 0) {
+            Cache<RequestKey, BufferedResponse> cache = Caffeine.newBuilder()
+                    .maximumWeight(transport.getResponseCache().toBytes())
+                    .weigher(CachingClient::weight)
+                    .recordStats()
+                    .build();
+            CaffeineCacheMetrics.monitor(registry, cache, "shareit.client." + name);
+            client = new CachingClient(name, client, cache, registry);
+        }
+        if (transport.getCoalesce()) {
+            client = new CoalescingClient(name, client, registry);
+        }
+        return client;
+    }
+
+    private Client transport(String name, ClientTransportProperties.Transport transport) {
+        if (transport.getProtocol() == ClientTransportProperties.Protocol.H2C) {
+            return new H2cClient(transport.getConnectTimeout());
+        }
+
+        var connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(transport.getMaxConnections());
+        connectionManager.setDefaultMaxPerRoute(transport.getMaxConnections());
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, name).bindTo(registry);
+
+        var httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout((int) transport.getConnectTimeout().toMillis())
+                        .build())
+                .evictIdleConnections(transport.getIdleTimeout().toMillis(), TimeUnit.MILLISECONDS)
+                .disableCookieManagement()
+                .build();
+        pooledClients.add(httpClient);
+        return new ApacheHttpClient(httpClient);
+    }
+
+    public Request.Options options(String name) {
+        var transport = properties.forClient(name);
+        return new Request.Options(transport.getConnectTimeout().toMillis(), TimeUnit.MILLISECONDS,
+                transport.getReadTimeout().toMillis(), TimeUnit.MILLISECONDS, true);
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        for (var httpClient : pooledClients) {
+            httpClient.close();
+        }
+    }
+}
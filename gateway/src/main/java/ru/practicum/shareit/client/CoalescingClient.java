@@ -0,0 +1,81 @@
+package ru.practicum.shareit.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Lets concurrent identical GETs share one upstream call: the first one goes to the server, the ones arriving
+ * while it is in flight wait for its response, read to the end, and each gets a copy. Nothing is kept once the
+ * call completes, so a later request always sees a fresh response.
+ */
+class CoalescingClient implements Client {
+
+    static final String METRIC = "shareit.client.coalesced";
+
+    private final Client delegate;
+    private final ConcurrentMap<RequestKey, CompletableFuture<BufferedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+
+    CoalescingClient(String name, Client delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.coalesced = Counter.builder(METRIC)
+                .description("Calls answered with the response of an identical call already in flight")
+                .tag("client", name)
+                .register(registry);
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        if (request.httpMethod() != Request.HttpMethod.GET) {
+            return delegate.execute(request, options);
+        }
+
+        var key = RequestKey.of(request);
+        var call = new CompletableFuture<BufferedResponse>();
+        var leading = inFlight.putIfAbsent(key, call);
+        if (leading != null) {
+            coalesced.increment();
+            return await(leading).toResponse(request);
+        }
+
+        try {
+            var response = BufferedResponse.of(delegate.execute(request, options));
+            call.complete(response);
+            return response.toResponse(request);
+        } catch (IOException | RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static BufferedResponse await(CompletableFuture<BufferedResponse> call) throws IOException {
+        try {
+            return call.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("interrupted waiting for an identical call");
+        } catch (ExecutionException e) {
+            var cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new UncheckedIOException(new IOException(cause));
+        }
+    }
+}
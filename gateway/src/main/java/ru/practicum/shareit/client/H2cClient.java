@@ -0,0 +1,78 @@
+package ru.practicum.shareit.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Feign client on the JDK {@link HttpClient} speaking HTTP/2 over cleartext. The body is handed to Feign as the
+ * stream it arrives on, so raw {@link Response} results stay unbuffered. Unlike Apache HttpClient the JDK client
+ * does not negotiate compression, so gzip is asked for and unwrapped here.
+ */
+class H2cClient implements Client {
+
+    private static final Set<String> DROPPED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade", "accept-encoding");
+
+    private final HttpClient httpClient;
+
+    H2cClient(Duration connectTimeout) {
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(connectTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        var body = request.body();
+        var builder = HttpRequest.newBuilder(URI.create(request.url()))
+                .timeout(Duration.ofMillis(options.readTimeoutMillis()))
+                .method(request.httpMethod().name(), body == null
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        request.headers().forEach((name, values) -> {
+            if (!DROPPED_HEADERS.contains(name.toLowerCase())) {
+                values.forEach(value -> builder.header(name, value));
+            }
+        });
+        builder.header("Accept-Encoding", "gzip");
+
+        HttpResponse<InputStream> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+        var headers = new LinkedHashMap<String, Collection<String>>(response.headers().map());
+        var length = response.headers().firstValueAsLong("content-length");
+        InputStream responseBody = response.body();
+        if (response.headers().firstValue("content-encoding").filter("gzip"::equalsIgnoreCase).isPresent()) {
+            responseBody = new GZIPInputStream(responseBody);
+            headers.keySet().removeIf(name -> name.equalsIgnoreCase("content-encoding")
+                    || name.equalsIgnoreCase("content-length"));
+            length = OptionalLong.empty();
+        }
+        return Response.builder()
+                .status(response.statusCode())
+                .request(request)
+                .headers(headers)
+                .body(responseBody, length.isPresent() ? (int) length.getAsLong() : null)
+                .build();
+    }
+}
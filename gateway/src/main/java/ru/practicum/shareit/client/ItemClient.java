@@ -1,15 +1,19 @@
 package ru.practicum.shareit.client;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.item.dto.AvailabilityInterval;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.util.batch.BatchResult;
 import static ru.practicum.shareit.util.Constants.USER_HEADER;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @FeignClient(
@@ -24,14 +28,27 @@ public interface ItemClient {
     @GetMapping(path = "/{id}")
     ResponseEntity<ItemResponse> get(@RequestHeader(USER_HEADER) Long userId, @PathVariable("id") Long id);
 
+    @GetMapping(path = "/{id}/availability")
+    ResponseEntity<List<AvailabilityInterval>> getAvailability(
+            @RequestHeader(USER_HEADER) Long userId,
+            @PathVariable("id") Long id,
+            @RequestParam("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to);
+
     @GetMapping(path = "/search")
     ResponseEntity<List<ItemResponse>> search(@RequestHeader(USER_HEADER) Long userId,
-                                              @RequestParam(value = "text") String searchString);
+                                              @RequestParam(value = "text") String searchString,
+                                              @RequestParam(defaultValue = "0") Integer from,
+                                              @RequestParam(required = false) Integer size);
 
     @PostMapping(consumes = "application/json")
     @ResponseStatus(HttpStatus.CREATED)
     ResponseEntity<ItemResponse> add(@RequestHeader(USER_HEADER) Long userId, @RequestBody ItemDto dto);
 
+    @PostMapping(consumes = "application/json", path = "/batch")
+    ResponseEntity<List<BatchResult<ItemResponse>>> addAll(@RequestHeader(USER_HEADER) Long userId,
+                                                           @RequestBody List<ItemDto> dtos);
+
     @PatchMapping(consumes = "application/json", path = "/{id}")
     ResponseEntity<ItemResponse> update(@RequestHeader(USER_HEADER) Long userId,
                                         @PathVariable("id") Long id,
@@ -0,0 +1,38 @@
+package ru.practicum.shareit.client;
+
+import feign.Request;
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+
+import java.util.Collection;
+import java.util.Map;
+
+import static ru.practicum.shareit.util.Constants.USER_HEADER;
+
+/**
+ * What makes two GETs interchangeable: the URL with its query, the user it is made for and the representation
+ * it asks for.
+ */
+@Value
+class RequestKey {
+    String userId;
+    String accept;
+    String url;
+
+    static RequestKey of(Request request) {
+        return new RequestKey(first(request.headers(), USER_HEADER), first(request.headers(), HttpHeaders.ACCEPT),
+                request.url());
+    }
+
+    static String first(Map<String, Collection<String>> headers, String name) {
+        var values = headers.get(name);
+        if (values == null) {
+            values = headers.entrySet().stream()
+                    .filter(header -> header.getKey().equalsIgnoreCase(name))
+                    .map(Map.Entry::getValue)
+                    .findFirst()
+                    .orElse(null);
+        }
+        return values == null || values.isEmpty() ? null : values.iterator().next();
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.client;
+
+import feign.Response;
+import feign.codec.Decoder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Drops the server's {@code Content-Type} from decoded entities. The body was read in whatever encoding the
+ * internal hop negotiated, and controllers hand the entity on as is, so the type must be chosen again for the
+ * caller instead of being preset to Smile.
+ */
+class UpstreamEntityDecoder implements Decoder {
+
+    private final Decoder delegate;
+
+    UpstreamEntityDecoder(Decoder delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        var decoded = delegate.decode(response, type);
+        if (!(decoded instanceof ResponseEntity)) {
+            return decoded;
+        }
+        var entity = (ResponseEntity<?>) decoded;
+        var headers = new HttpHeaders();
+        headers.addAll(entity.getHeaders());
+        headers.remove(HttpHeaders.CONTENT_TYPE);
+        return new ResponseEntity<>(entity.getBody(), headers, entity.getStatusCode());
+    }
+}
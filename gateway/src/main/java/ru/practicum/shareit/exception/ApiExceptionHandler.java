@@ -1,9 +1,11 @@
 package ru.practicum.shareit.exception;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import feign.FeignException;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -12,6 +14,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
+import java.nio.ByteBuffer;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -21,13 +25,21 @@ import static org.springframework.http.HttpStatus.*;
 @Slf4j
 public class ApiExceptionHandler {
 
+    private static final String SMILE_TYPE = "application/x-jackson-smile";
+    private static final ObjectMapper JSON = new ObjectMapper();
+    private static final ObjectMapper SMILE = new ObjectMapper(new SmileFactory());
+
     @SneakyThrows
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<Map<String, String>> handleException(FeignException e) {
-        ObjectMapper mapper = new ObjectMapper();
         String message = "";
-        if (!e.contentUTF8().isBlank()) {
-            message = mapper.readTree(e.contentUTF8()).get("error").asText();
+        var body = e.responseBody().filter(ByteBuffer::hasRemaining);
+        if (body.isPresent()) {
+            var contentType = e.responseHeaders().getOrDefault(HttpHeaders.CONTENT_TYPE, List.of());
+            var mapper = contentType.stream().anyMatch(type -> type.startsWith(SMILE_TYPE)) ? SMILE : JSON;
+            var buffer = body.get();
+            message = mapper.readTree(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining())
+                    .get("error").asText();
         }
         log.error(message);
         return new ResponseEntity<>(Map.of("error", message), HttpStatus.valueOf(e.status()));
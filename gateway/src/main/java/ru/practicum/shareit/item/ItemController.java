@@ -2,22 +2,31 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.client.ItemClient;
+import ru.practicum.shareit.item.dto.AvailabilityInterval;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.util.batch.BatchResult;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.MAX_BATCH_SIZE;
 import static ru.practicum.shareit.util.Constants.USER_HEADER;
 
 @Slf4j
 @RequiredArgsConstructor
+@Validated
 @RestController
 @RequestMapping("/items")
 public class ItemController {
@@ -35,11 +44,27 @@ public class ItemController {
         return client.get(userId, id);
     }
 
+    @GetMapping(path = "/{id}/availability")
+    public ResponseEntity<List<AvailabilityInterval>> getAvailability(
+            @RequestHeader(USER_HEADER) Long userId,
+            @PathVariable("id") Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get availability of item id {} from {} to {}, by userid {}", id, from, to, userId);
+        return client.getAvailability(userId, id, from, to);
+    }
+
     @GetMapping(path = "/search")
     public ResponseEntity<List<ItemResponse>> search(@RequestHeader(USER_HEADER) Long userId,
-                                                     @RequestParam(value = "text") String searchString) {
+                                                     @RequestParam(value = "text") String searchString,
+                                                     @RequestParam(defaultValue = "0")
+                                                     @Min(value = 0, message = "minimum value for from param is 0")
+                                                     Integer from,
+                                                     @RequestParam(required = false)
+                                                     @Min(value = 1, message = "minimum value for size param is 1")
+                                                     Integer size) {
         log.info("Get search items by {}, by userid {}", searchString, userId);
-        return client.search(userId, searchString);
+        return client.search(userId, searchString, from, size);
     }
 
     @PostMapping(consumes = "application/json")
@@ -50,6 +75,15 @@ public class ItemController {
         return client.add(userId, dto);
     }
 
+    @PostMapping(consumes = "application/json", path = "/batch")
+    public ResponseEntity<List<BatchResult<ItemResponse>>> addAll(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestBody @Size(min = 1, max = MAX_BATCH_SIZE, message = "batch should have 1 to 1000 items")
+            List<@Valid ItemDto> dtos) {
+        log.info("New items batch registration of {} items; user id {}", dtos.size(), userId);
+        return client.addAll(userId, dtos);
+    }
+
     @PatchMapping(consumes = "application/json", path = "/{id}")
     public ResponseEntity<ItemResponse> update(@RequestHeader(USER_HEADER) Long userId,
                                        @PathVariable("id") Long id,
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.util;
+
+import feign.FeignException;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.actuate.metrics.http.Outcome;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestParam;
+import ru.practicum.shareit.booking.BookingState;
+
+import java.util.Arrays;
+
+/**
+ * Times every call of the Feign clients to the server as {@code shareit.client}, tagged by client, method,
+ * booking state and outcome of the server's response. The state comes from the caller, so anything that is
+ * not a known state is tagged {@code UNSUPPORTED_STATUS} to keep the tag bounded.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ClientMetricsAspect {
+
+    public static final String METRIC = "shareit.client";
+
+    private final MeterRegistry registry;
+
+    @Around("execution(* ru.practicum.shareit.client.*Client.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        var sample = Timer.start(registry);
+        var outcome = Outcome.UNKNOWN;
+        try {
+            var result = joinPoint.proceed();
+            if (result instanceof ResponseEntity) {
+                outcome = Outcome.forStatus(((ResponseEntity<?>) result).getStatusCodeValue());
+            } else if (result instanceof Response) {
+                outcome = Outcome.forStatus(((Response) result).status());
+            } else {
+                outcome = Outcome.SUCCESS;
+            }
+            return result;
+        } catch (FeignException e) {
+            outcome = Outcome.forStatus(e.status());
+            throw e;
+        } finally {
+            var signature = (MethodSignature) joinPoint.getSignature();
+            sample.stop(Timer.builder(METRIC)
+                    .tag("client", signature.getDeclaringType().getSimpleName())
+                    .tag("method", signature.getName())
+                    .tag("state", stateOf(signature, joinPoint.getArgs()))
+                    .tag("outcome", outcome.name())
+                    .register(registry));
+        }
+    }
+
+    private static String stateOf(MethodSignature signature, Object[] args) {
+        var annotations = signature.getMethod().getParameterAnnotations();
+        for (int i = 0; i < annotations.length; i++) {
+            var isState = Arrays.stream(annotations[i])
+                    .anyMatch(a -> a instanceof RequestParam && "state".equals(((RequestParam) a).name()));
+            if (isState) {
+                var state = String.valueOf(args[i]);
+                return Arrays.stream(BookingState.values())
+                        .map(Enum::name)
+                        .filter(name -> name.equalsIgnoreCase(state))
+                        .findFirst()
+                        .orElse(BookingState.UNSUPPORTED_STATUS.name());
+            }
+        }
+        return "none";
+    }
+}
@@ -2,4 +2,5 @@ package ru.practicum.shareit.util;
 
 public final class Constants {
     public static final String USER_HEADER = "X-Sharer-User-Id";
+    public static final int MAX_BATCH_SIZE = 1000;
 }
@@ -0,0 +1,37 @@
+package ru.practicum.shareit.util;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.util.List;
+
+/**
+ * Controllers return the server's {@code ResponseEntity} as is, headers included. Framing headers of that
+ * connection do not describe the body the gateway writes: a copied {@code Transfer-Encoding: chunked} makes
+ * Tomcat skip chunking and strict clients reject the response, so they are dropped before the body is written.
+ */
+@RestControllerAdvice
+public class UpstreamHeadersAdvice implements ResponseBodyAdvice<Object> {
+
+    private static final List<String> CONNECTION_HEADERS = List.of(HttpHeaders.TRANSFER_ENCODING,
+            HttpHeaders.CONTENT_LENGTH, HttpHeaders.CONNECTION, "Keep-Alive");
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        CONNECTION_HEADERS.forEach(response.getHeaders()::remove);
+        return body;
+    }
+}
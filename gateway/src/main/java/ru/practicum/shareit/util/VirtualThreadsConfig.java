@@ -0,0 +1,42 @@
+package ru.practicum.shareit.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs every request on a virtual thread of its own instead of Tomcat's platform thread pool, so that requests
+ * blocked in a Feign call hold no OS thread and {@code server.tomcat.threads.max} no longer caps how many of them
+ * wait on the server at once. The build targets Java 11, so the executor is looked up reflectively and the mode
+ * needs a Java 21 runtime; asking for it on an older one fails the startup instead of quietly keeping the pool.
+ * The executor is deliberately not a bean, which would displace Boot's {@code applicationTaskExecutor}.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "shareit.virtual-threads", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadsCustomizer() {
+        var executor = virtualThreadPerTaskExecutor();
+        log.info("Requests run on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    static Executor virtualThreadPerTaskExecutor() {
+        try {
+            return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("shareit.virtual-threads needs Java 21 or later, running on "
+                    + Runtime.version(), e);
+        } catch (IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot create a virtual thread executor", e);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.util.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one row of a batch request: the HTTP status the row would have got on its own, with either the
+ * created resource or the error.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult<T> {
+    private int index;
+    private int status;
+    private T result;
+    private String error;
+}
@@ -0,0 +1,188 @@
+package ru.practicum.shareit.client;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.client.ClientTransportProperties.Protocol.H2C;
+import static ru.practicum.shareit.client.ClientTransportProperties.Protocol.HTTP_1_1;
+
+class ClientTransportsTest {
+
+    private HttpServer server;
+    private SimpleMeterRegistry registry;
+    private ClientTransports underTest;
+    private final AtomicInteger sentBodies = new AtomicInteger();
+
+    private static final String TAG = "\"tag-1\"";
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/items", exchange -> {
+            val body = (exchange.getRequestMethod() + " " + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id")
+                    + " " + new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8))
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain");
+            val acceptEncoding = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+            if (acceptEncoding != null && acceptEncoding.contains("gzip")) {
+                exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+                exchange.sendResponseHeaders(201, 0);
+                try (val out = new GZIPOutputStream(exchange.getResponseBody())) {
+                    out.write(body);
+                }
+            } else {
+                exchange.sendResponseHeaders(201, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.createContext("/users", exchange -> {
+            sentBodies.incrementAndGet();
+            exchange.getResponseHeaders().add("ETag", TAG);
+            if (TAG.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                sentBodies.decrementAndGet();
+                // the JDK server resets a kept-alive connection after a 304, so it is not offered for reuse
+                exchange.getResponseHeaders().add("Connection", "close");
+                exchange.sendResponseHeaders(304, -1);
+            } else {
+                val body = (TAG + " " + exchange.getRequestHeaders().getFirst("X-Sharer-User-Id"))
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().add("Content-Type", "text/plain");
+                exchange.sendResponseHeaders(200, body.length);
+                exchange.getResponseBody().write(body);
+            }
+            exchange.close();
+        });
+        server.start();
+
+        val properties = new ClientTransportProperties();
+        properties.setClient(Map.of(
+                ClientTransportProperties.DEFAULT, new ClientTransportProperties.Transport(null, null,
+                        Duration.ofSeconds(5), 4, null, null, null),
+                "item", new ClientTransportProperties.Transport(HTTP_1_1, null, null, 8, null, null, null),
+                "booking", new ClientTransportProperties.Transport(H2C, null, null, null, null, null, true),
+                "request", new ClientTransportProperties.Transport(null, null, null, null, null,
+                        DataSize.ofBytes(0), null)));
+        registry = new SimpleMeterRegistry();
+        underTest = new ClientTransports(properties, registry);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        underTest.destroy();
+        server.stop(0);
+    }
+
+    @DisplayName("Настройки клиента дополняются настройками по умолчанию")
+    @Test
+    void shouldMergeClientTransportWithDefaults() {
+        val properties = new ClientTransportProperties();
+        properties.setClient(Map.of(ClientTransportProperties.DEFAULT,
+                new ClientTransportProperties.Transport(null, null, Duration.ofSeconds(5), 4, null, null, null),
+                "item", new ClientTransportProperties.Transport(H2C, null, null, 8, null, DataSize.ofKilobytes(1),
+                        true)));
+
+        assertEquals(new ClientTransportProperties.Transport(H2C, Duration.ofSeconds(1), Duration.ofSeconds(5), 8,
+                Duration.ofSeconds(15), DataSize.ofKilobytes(1), true), properties.forClient("item"));
+        assertEquals(new ClientTransportProperties.Transport(HTTP_1_1, Duration.ofSeconds(1), Duration.ofSeconds(5),
+                4, Duration.ofSeconds(15), DataSize.ofMegabytes(8), false), properties.forClient("user"));
+        assertEquals(5_000, underTest.options("user").readTimeoutMillis());
+    }
+
+    @DisplayName("Пул соединений клиента публикует метрики с его именем")
+    @Test
+    void shouldPublishPoolMetrics() throws IOException {
+        val client = underTest.client("item");
+        execute(client);
+
+        val max = registry.get("httpcomponents.httpclient.pool.total.max").tag("httpclient", "item").gauge();
+        assertEquals(8, max.value());
+        val available = registry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "item", "state", "available").gauge();
+        assertEquals(1, available.value());
+
+        underTest.client("booking");
+        assertNull(registry.find("httpcomponents.httpclient.pool.total.max").tag("httpclient", "booking").gauge());
+    }
+
+    @DisplayName("Оба транспорта передают метод, заголовки и тело запроса и ответа, распаковывая gzip")
+    @Test
+    void shouldExecuteRequestsOverEitherTransport() throws IOException {
+        for (val name : List.of("item", "booking")) {
+            val response = execute(underTest.client(name));
+
+            assertEquals(201, response.status());
+            assertFalse(response.headers().containsKey("content-encoding"));
+            assertEquals(List.of("text/plain"), List.copyOf(response.headers().get("content-type")));
+            try (val body = response.body().asInputStream()) {
+                assertEquals("PATCH 1 {}", new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+    }
+
+    @DisplayName("Повторный GET перепроверяется по ETag и при ответе 304 отдаётся из кэша, отдельно по пользователям")
+    @Test
+    void shouldRevalidateCachedResponses() throws IOException {
+        for (val name : List.of("item", "booking")) {
+            sentBodies.set(0);
+            val client = underTest.client(name);
+
+            assertEquals(TAG + " 1", get(client, 1L));
+            assertEquals(TAG + " 1", get(client, 1L));
+            assertEquals(TAG + " 2", get(client, 2L));
+            assertEquals(2, sentBodies.get());
+            assertEquals(1, registry.get(CachingClient.METRIC).tags("client", name, "outcome", "not_modified")
+                    .counter().count());
+        }
+
+        sentBodies.set(0);
+        val uncached = underTest.client("request");
+        get(uncached, 1L);
+        get(uncached, 1L);
+        assertEquals(2, sentBodies.get());
+    }
+
+    private String get(feign.Client client, Long userId) throws IOException {
+        val request = Request.create(Request.HttpMethod.GET,
+                "http://localhost:" + server.getAddress().getPort() + "/users/1",
+                Map.of("X-Sharer-User-Id", List.of(userId.toString())), null, StandardCharsets.UTF_8, null);
+        try (val response = client.execute(request, underTest.options("user"));
+             val body = response.body().asInputStream()) {
+            assertEquals(200, response.status());
+            return new String(body.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private feign.Response execute(feign.Client client) throws IOException {
+        val request = Request.create(Request.HttpMethod.PATCH,
+                "http://localhost:" + server.getAddress().getPort() + "/items/1",
+                Map.of("X-Sharer-User-Id", List.of("1"), "Content-Type", List.of("application/json")),
+                "{}".getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8, null);
+        val response = client.execute(request, underTest.options("item"));
+        if (client instanceof H2cClient) {
+            return response;
+        }
+        try (response) {
+            return response.toBuilder()
+                    .body(response.body().asInputStream().readAllBytes())
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.client;
+
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoalescingClientTest {
+
+    private static final int CALLERS = 8;
+    private static final String SEARCH = "/items/search?text=drill";
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS + 1);
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @DisplayName("Одинаковые одновременные GET ждут один вызов сервера и получают каждый свою копию ответа")
+    @Test
+    void shouldShareOneUpstreamCall() throws Exception {
+        val underTest = new CoalescingClient("item", (request, options) -> {
+            upstreamCalls.incrementAndGet();
+            await();
+            return Response.builder()
+                    .status(200)
+                    .request(request)
+                    .headers(Map.of())
+                    .body(request.url(), StandardCharsets.UTF_8)
+                    .build();
+        }, registry);
+
+        val responses = callConcurrently(underTest, SEARCH);
+        waitForWaiters(CALLERS - 1);
+        release.countDown();
+
+        for (val response : responses) {
+            try (val body = response.get(5, TimeUnit.SECONDS).body().asInputStream()) {
+                assertEquals("http://server" + SEARCH, new String(body.readAllBytes(), StandardCharsets.UTF_8));
+            }
+        }
+        assertEquals(1, upstreamCalls.get());
+
+        call(underTest, SEARCH, 1L);
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    @DisplayName("Ошибка общего вызова достаётся всем ожидавшим, запросы разных пользователей не объединяются")
+    @Test
+    void shouldShareFailureAndKeepUsersApart() throws Exception {
+        val underTest = new CoalescingClient("item", (request, options) -> {
+            upstreamCalls.incrementAndGet();
+            await();
+            throw new IOException("connection reset");
+        }, registry);
+
+        val responses = callConcurrently(underTest, "/items/1");
+        waitForWaiters(CALLERS - 1);
+        val otherUser = executor.submit(() -> call(underTest, "/items/1", 2L));
+        while (upstreamCalls.get() < 2) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        for (val response : responses) {
+            val error = assertThrows(ExecutionException.class, () -> response.get(5, TimeUnit.SECONDS));
+            assertEquals("connection reset", error.getCause().getMessage());
+        }
+        assertThrows(ExecutionException.class, () -> otherUser.get(5, TimeUnit.SECONDS));
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private List<Future<Response>> callConcurrently(CoalescingClient client, String path) {
+        val responses = new ArrayList<Future<Response>>();
+        for (int i = 0; i < CALLERS; i++) {
+            responses.add(executor.submit(() -> call(client, path, 1L)));
+        }
+        return responses;
+    }
+
+    private void waitForWaiters(int waiters) throws InterruptedException {
+        val counter = registry.get(CoalescingClient.METRIC).counter();
+        while (counter.count() < waiters) {
+            Thread.sleep(10);
+        }
+    }
+
+    private void await() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Response call(CoalescingClient client, String path, Long userId) throws IOException {
+        val request = Request.create(Request.HttpMethod.GET, "http://server" + path,
+                Map.of("X-Sharer-User-Id", List.of(userId.toString())), null, StandardCharsets.UTF_8, null);
+        return client.execute(request, new Request.Options());
+    }
+}
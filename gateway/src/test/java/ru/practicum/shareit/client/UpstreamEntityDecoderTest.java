@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import feign.Request;
+import feign.Response;
+import lombok.val;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import ru.practicum.shareit.item.dto.ItemBookerResponse;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UpstreamEntityDecoderTest {
+
+    private final UpstreamEntityDecoder underTest = new UpstreamEntityDecoder(new ResponseEntityDecoder(
+            new SpringDecoder(() -> new HttpMessageConverters(false, List.of(
+                    new MappingJackson2HttpMessageConverter(),
+                    new MappingJackson2SmileHttpMessageConverter(Jackson2ObjectMapperBuilder.smile().build()))),
+            new DefaultListableBeanFactory().getBeanProvider(HttpMessageConverterCustomizer.class))));
+
+    @DisplayName("Ответ сервера в Smile читается, а его Content-Type не передаётся клиенту шлюза")
+    @Test
+    void shouldDecodeSmileAndDropContentType() throws IOException {
+        val items = List.of(new ItemBookerResponse(1L, "Отвёртка"), new ItemBookerResponse(2L, "Дрель"));
+        val response = Response.builder()
+                .status(200)
+                .request(Request.create(Request.HttpMethod.GET, "http://server/items", Map.of(), null,
+                        StandardCharsets.UTF_8, null))
+                .headers(Map.of(HttpHeaders.CONTENT_TYPE, List.of("application/x-jackson-smile"),
+                        "X-Next-Cursor", List.of("abc")))
+                .body(new ObjectMapper(new SmileFactory()).writeValueAsBytes(items))
+                .build();
+
+        val decoded = (ResponseEntity<?>) underTest.decode(response,
+                new ParameterizedTypeReference<ResponseEntity<List<ItemBookerResponse>>>() { }.getType());
+
+        assertEquals(items, decoded.getBody());
+        assertNull(decoded.getHeaders().getContentType());
+        assertEquals("abc", decoded.getHeaders().getFirst("X-Next-Cursor"));
+    }
+}
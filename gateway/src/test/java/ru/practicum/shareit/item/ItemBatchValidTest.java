@@ -0,0 +1,68 @@
+package ru.practicum.shareit.item;
+
+import lombok.val;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.validation.ValidationAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.dto.ItemDto;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static java.lang.Boolean.TRUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static ru.practicum.shareit.util.Constants.MAX_BATCH_SIZE;
+
+@SpringBootTest(classes = {ValidationAutoConfiguration.class})
+class ItemBatchValidTest {
+
+    @Autowired
+    private Validator underTest;
+
+    @DisplayName("Пакет вещей проходит проверку валидации целиком")
+    @Test
+    void shouldCheckValidBatch() {
+        val dtos = List.of(getDto("Отвёртка"), getDto("Молоток"));
+
+        assertEquals(0, validate(dtos).size());
+    }
+
+    @DisplayName("Пакет вещей не проходит валидацию, если пуст или слишком велик")
+    @Test
+    void shouldNotCheckBatchOfWrongSize() {
+        assertEquals("batch should have 1 to 1000 items",
+                validate(List.of()).iterator().next().getMessage());
+        assertEquals("batch should have 1 to 1000 items",
+                validate(Collections.nCopies(MAX_BATCH_SIZE + 1, getDto("Отвёртка"))).iterator().next().getMessage());
+    }
+
+    @DisplayName("Пакет вещей не проходит валидацию с неверной строкой и указывает её номер")
+    @Test
+    void shouldNotCheckBatchWithInvalidRow() {
+        val validates = validate(List.of(getDto("Отвёртка"), getDto(" ")));
+
+        assertEquals(1, validates.size());
+        val violation = validates.iterator().next();
+        assertEquals("Name should not be empty", violation.getMessage());
+        assertEquals("addAll.dtos[1].name", violation.getPropertyPath().toString());
+    }
+
+    private Set<ConstraintViolation<ItemController>> validate(List<ItemDto> dtos) {
+        try {
+            val method = ItemController.class.getMethod("addAll", Long.class, List.class);
+            return underTest.forExecutables()
+                    .validateParameters(new ItemController(null), method, new Object[]{1L, dtos});
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ItemDto getDto(String name) {
+        return new ItemDto(name, "Крестовая", TRUE, null);
+    }
+}
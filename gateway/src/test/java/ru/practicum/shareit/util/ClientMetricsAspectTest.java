@@ -0,0 +1,91 @@
+package ru.practicum.shareit.util;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.client.BookingClient;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class ClientMetricsAspectTest {
+
+    private static HttpServer server;
+
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private BookingClient bookingClient;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry properties) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/bookings", exchange -> {
+            val found = !exchange.getRequestURI().getPath().matches("/bookings/\\d+");
+            val body = (found ? "[]" : "{\"error\":\"booking with id 1 not found\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(found ? 200 : 404, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+        properties.add("feign.url.booking", () -> "http://localhost:" + server.getAddress().getPort() + "/bookings");
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop(0);
+    }
+
+    @DisplayName("Вызовы Feign-клиентов учитываются с тегами клиента, метода, статуса бронирования и результата")
+    @Test
+    void shouldTimeClientCalls() {
+        val before = count("getAllOwner", "PAST", "SUCCESS");
+
+        bookingClient.getAllOwner(1L, "past", 0, 10, null);
+        bookingClient.getAllOwner(1L, "PAST", 0, 10, null);
+
+        assertEquals(before + 2, count("getAllOwner", "PAST", "SUCCESS"));
+    }
+
+    @DisplayName("Неизвестный статус бронирования учитывается как UNSUPPORTED_STATUS")
+    @Test
+    void shouldTagUnknownStateAsUnsupported() {
+        val before = count("getAllBooker", "UNSUPPORTED_STATUS", "SUCCESS");
+
+        bookingClient.getAllBooker(1L, "someday", 0, 10, null);
+
+        assertEquals(before + 1, count("getAllBooker", "UNSUPPORTED_STATUS", "SUCCESS"));
+    }
+
+    @DisplayName("Ошибка сервера учитывается по статусу FeignException, метод без статуса помечается none")
+    @Test
+    void shouldTagFeignExceptionByStatus() {
+        val before = count("getById", "none", "CLIENT_ERROR");
+
+        assertThrows(FeignException.NotFound.class, () -> bookingClient.getById(1L, 1L));
+
+        assertEquals(before + 1, count("getById", "none", "CLIENT_ERROR"));
+    }
+
+    private long count(String method, String state, String outcome) {
+        val timer = registry.find(ClientMetricsAspect.METRIC)
+                .tags("client", "BookingClient", "method", method, "state", state, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
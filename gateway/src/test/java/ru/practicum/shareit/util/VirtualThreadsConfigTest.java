@@ -0,0 +1,34 @@
+package ru.practicum.shareit.util;
+
+import lombok.val;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VirtualThreadsConfigTest {
+
+    @DisplayName("На Java 21 запросы выполняются в виртуальных потоках, на более старой запуск падает")
+    @Test
+    void shouldRunOnVirtualThreadsOrFail() throws Exception {
+        if (Runtime.version().feature() < 21) {
+            assertThrows(IllegalStateException.class, VirtualThreadsConfig::virtualThreadPerTaskExecutor);
+            return;
+        }
+
+        val executor = VirtualThreadsConfig.virtualThreadPerTaskExecutor();
+        val virtual = new CompletableFuture<Boolean>();
+        executor.execute(() -> {
+            try {
+                virtual.complete((Boolean) Thread.class.getMethod("isVirtual").invoke(Thread.currentThread()));
+            } catch (ReflectiveOperationException e) {
+                virtual.completeExceptionally(e);
+            }
+        });
+        assertTrue(virtual.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Users, requests, items and bookings created through the gateway before the run. Every user owns items and
+ * books every item of the next user, half of those bookings approved, so each endpoint returns full pages.
+ */
+@Slf4j
+public class Dataset {
+
+    private static final List<String> WORDS = List.of("дрель", "отвёртка", "пила", "лестница", "молоток",
+            "палатка", "велосипед");
+
+    private final List<Long> userIds;
+
+    private Dataset(List<Long> userIds) {
+        this.userIds = userIds;
+    }
+
+    public static String randomWord() {
+        return WORDS.get(ThreadLocalRandom.current().nextInt(WORDS.size()));
+    }
+
+    public Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    public static Dataset seed(GatewayClient client, int users, int itemsPerUser)
+            throws IOException, InterruptedException {
+        List<Long> userIds = new ArrayList<>(users);
+        List<List<Long>> itemIds = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            var userId = client.post("/users", null, Map.of("name", "User " + u, "email", "user" + u + "@shareit.ru"));
+            userIds.add(userId);
+            client.post("/requests", userId, Map.of("description", "Нужна " + WORDS.get(u % WORDS.size())));
+
+            List<Long> items = new ArrayList<>(itemsPerUser);
+            for (int i = 0; i < itemsPerUser; i++) {
+                var word = WORDS.get((u + i) % WORDS.size());
+                items.add(client.post("/items", userId, Map.of("name", word + " " + u + "-" + i,
+                        "description", "Хорошая " + word, "available", true)));
+            }
+            itemIds.add(items);
+        }
+
+        var start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int u = 0; u < users; u++) {
+            var ownerIndex = (u + 1) % users;
+            var items = itemIds.get(ownerIndex);
+            for (int i = 0; i < items.size(); i++) {
+                var bookingId = client.post("/bookings", userIds.get(u), Map.of("itemId", items.get(i),
+                        "start", start.plusDays(i), "end", start.plusDays(i).plusHours(12)));
+                if (i % 2 == 0) {
+                    client.patch("/bookings/" + bookingId + "?approved=true", userIds.get(ownerIndex));
+                }
+            }
+        }
+        log.info("Seeded {} users with {} items each", users, itemsPerUser);
+        return new Dataset(userIds);
+    }
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Sits between the gateway and the server and holds every GET for a fixed time before forwarding it, so the
+ * gateway can be measured against a slow server without making the server itself any slower. Writes, the
+ * seeding among them, go straight through; bodies and encodings are passed on untouched.
+ */
+@Slf4j
+public class DelayingProxy implements AutoCloseable {
+
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host",
+            "upgrade", "http2-settings", "transfer-encoding");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final HttpClient client;
+    private final String target;
+    private final Duration delay;
+
+    private DelayingProxy(HttpServer server, String target, Duration delay) {
+        this.server = server;
+        this.executor = Executors.newCachedThreadPool();
+        this.client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        this.target = target;
+        this.delay = delay;
+    }
+
+    public static DelayingProxy start(int port, int targetPort, Duration delay) throws IOException {
+        var server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        var proxy = new DelayingProxy(server, "http://localhost:" + targetPort, delay);
+        server.createContext("/", proxy::forward);
+        server.setExecutor(proxy.executor);
+        server.start();
+        log.info("Proxy on port {} forwards to port {} after {} ms", port, targetPort, delay.toMillis());
+        return proxy;
+    }
+
+    private void forward(HttpExchange exchange) throws IOException {
+        try {
+            if ("GET".equals(exchange.getRequestMethod())) {
+                Thread.sleep(delay.toMillis());
+            }
+            var builder = HttpRequest.newBuilder(URI.create(target + exchange.getRequestURI()))
+                    .method(exchange.getRequestMethod(),
+                            HttpRequest.BodyPublishers.ofByteArray(exchange.getRequestBody().readAllBytes()));
+            exchange.getRequestHeaders().forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    values.forEach(value -> builder.header(name, value));
+                }
+            });
+            var response = client.send(builder.build(), HttpResponse.BodyHandlers.ofByteArray());
+
+            response.headers().map().forEach((name, values) -> {
+                if (!RESTRICTED_HEADERS.contains(name.toLowerCase())) {
+                    exchange.getResponseHeaders().put(name, values);
+                }
+            });
+            var body = response.body();
+            if (response.statusCode() == 304) {
+                // the JDK server resets a kept-alive connection after a 304, so it is not offered for reuse
+                exchange.getResponseHeaders().set("Connection", "close");
+            }
+            exchange.sendResponseHeaders(response.statusCode(), body.length == 0 ? -1 : body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.warn("Proxying {} failed: {}", exchange.getRequestURI(), e.toString());
+            throw e;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
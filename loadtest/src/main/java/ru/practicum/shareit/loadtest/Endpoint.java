@@ -0,0 +1,40 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * Read endpoints of the gateway replayed by the load test, keyed by their name in {@code loadtest.mix}.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum Endpoint {
+
+    ITEMS("items", "GET /items", user -> "/items"),
+    SEARCH("search", "GET /items/search", user -> "/items/search?from=0&size=10&text="
+            + URLEncoder.encode(Dataset.randomWord(), StandardCharsets.UTF_8)),
+    BOOKINGS("bookings", "GET /bookings", user -> "/bookings?state=ALL&from=0&size=10"),
+    OWNER_BOOKINGS("owner", "GET /bookings/owner", user -> "/bookings/owner?state=ALL&from=0&size=10"),
+    REQUESTS_ALL("requests", "GET /requests/all", user -> "/requests/all?from=0&size=10");
+
+    private final String key;
+    private final String title;
+    private final Function<Long, String> path;
+
+    public String pathFor(Long userId) {
+        return path.apply(userId);
+    }
+
+    public static Endpoint byKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equalsIgnoreCase(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint: " + key);
+    }
+}
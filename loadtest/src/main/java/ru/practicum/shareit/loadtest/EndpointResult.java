@@ -0,0 +1,23 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Value;
+
+/**
+ * One row of the load test report.
+ */
+@Value
+public class EndpointResult {
+    String endpoint;
+    long requests;
+    long errors;
+    double throughput;
+    double p50;
+    double p99;
+    double p999;
+
+    public static EndpointResult of(String endpoint, LatencyStats stats, int seconds) {
+        return new EndpointResult(endpoint, stats.getCount(), stats.getErrors(),
+                (double) stats.getCount() / seconds,
+                stats.percentileMillis(50), stats.percentileMillis(99), stats.percentileMillis(99.9));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Latencies of one endpoint collected by a single worker; workers' stats are merged for the report.
+ */
+public class LatencyStats {
+
+    private long[] nanos = new long[1024];
+    private int count;
+    private long errors;
+
+    public void record(long latencyNanos) {
+        if (count == nanos.length) {
+            nanos = Arrays.copyOf(nanos, count * 2);
+        }
+        nanos[count++] = latencyNanos;
+    }
+
+    public void recordError() {
+        errors++;
+    }
+
+    public void merge(LatencyStats other) {
+        for (int i = 0; i < other.count; i++) {
+            record(other.nanos[i]);
+        }
+        errors += other.errors;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    /**
+     * Nearest-rank percentile in milliseconds; sorts the recorded samples, so call it once recording is over.
+     */
+    public double percentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        Arrays.sort(nanos, 0, count);
+        var rank = (int) Math.ceil(percentile / 100 * count);
+        return nanos[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,152 @@
+package ru.practicum.shareit.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Starts the server and the gateway from their Boot jars, seeds them and replays a weighted mix of read
+ * endpoints from a closed loop of worker threads. Latency percentiles and throughput per endpoint are
+ * printed and written as JSON to {@code loadtest.report}.
+ */
+@Slf4j
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        var config = LoadTestConfig.fromSystemProperties();
+        var logDir = config.getReport().toAbsolutePath().getParent();
+
+        try (var server = AppProcess.start("server", config.getServerJar(), config.getServerPort(), logDir,
+                serverArguments(config));
+             var proxy = config.getUpstreamDelay().isZero() ? null
+                     : DelayingProxy.start(config.getProxyPort(), config.getServerPort(), config.getUpstreamDelay());
+             var gateway = AppProcess.start("gateway", config.getGatewayJar(), config.getGatewayPort(), logDir,
+                     gatewayArguments(config))) {
+            var client = new GatewayClient(config.getGatewayPort());
+            var dataset = Dataset.seed(client, config.getUsers(), config.getItemsPerUser());
+
+            log.info("Warming up for {} s with {} threads", config.getWarmupSeconds(), config.getThreads());
+            run(client, dataset, config, config.getWarmupSeconds());
+            log.info("Measuring for {} s with {} threads", config.getDurationSeconds(), config.getThreads());
+            var stats = run(client, dataset, config, config.getDurationSeconds());
+
+            report(stats, config);
+        }
+    }
+
+    private static List<String> serverArguments(LoadTestConfig config) {
+        if (config.getDatasourceUrl() == null) {
+            return List.of("--spring.profiles.active=ci");
+        }
+        return List.of("--spring.datasource.url=" + config.getDatasourceUrl(),
+                "--spring.datasource.username=" + config.getDatasourceUsername(),
+                "--spring.datasource.password=" + config.getDatasourcePassword());
+    }
+
+    private static List<String> gatewayArguments(LoadTestConfig config) {
+        var upstreamPort = config.getUpstreamDelay().isZero() ? config.getServerPort() : config.getProxyPort();
+        var server = "http://localhost:" + upstreamPort;
+        List<String> arguments = new ArrayList<>(List.of("--feign.url.user=" + server + "/users",
+                "--feign.url.item=" + server + "/items",
+                "--feign.url.booking=" + server + "/bookings",
+                "--feign.url.request=" + server + "/requests"));
+        arguments.addAll(config.getGatewayArguments());
+        return arguments;
+    }
+
+    private static Map<Endpoint, LatencyStats> run(GatewayClient client, Dataset dataset, LoadTestConfig config,
+                                                   int seconds) throws InterruptedException, ExecutionException {
+        var endpoints = weighted(config.getMix());
+        var deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        var executor = Executors.newFixedThreadPool(config.getThreads());
+        List<Future<Map<Endpoint, LatencyStats>>> workers = new ArrayList<>();
+        for (int i = 0; i < config.getThreads(); i++) {
+            workers.add(executor.submit(() -> {
+                Map<Endpoint, LatencyStats> stats = new EnumMap<>(Endpoint.class);
+                while (System.nanoTime() < deadline) {
+                    var endpoint = endpoints.get(ThreadLocalRandom.current().nextInt(endpoints.size()));
+                    var userId = dataset.randomUserId();
+                    var request = client.get(endpoint.pathFor(userId), userId);
+                    var endpointStats = stats.computeIfAbsent(endpoint, e -> new LatencyStats());
+                    var startedAt = System.nanoTime();
+                    try {
+                        var status = client.send(request);
+                        if (status < 300) {
+                            endpointStats.record(System.nanoTime() - startedAt);
+                        } else {
+                            endpointStats.recordError();
+                        }
+                    } catch (IOException e) {
+                        endpointStats.recordError();
+                    }
+                }
+                return stats;
+            }));
+        }
+
+        Map<Endpoint, LatencyStats> merged = new EnumMap<>(Endpoint.class);
+        for (var worker : workers) {
+            worker.get().forEach((endpoint, stats) ->
+                    merged.computeIfAbsent(endpoint, e -> new LatencyStats()).merge(stats));
+        }
+        executor.shutdown();
+        return merged;
+    }
+
+    /**
+     * Expands {@code items=25,search=75} into a list where each endpoint appears weight times, so a uniform
+     * pick follows the mix.
+     */
+    private static List<Endpoint> weighted(Map<Endpoint, Integer> mix) {
+        List<Endpoint> endpoints = new ArrayList<>();
+        mix.forEach((endpoint, weight) -> {
+            for (int i = 0; i < weight; i++) {
+                endpoints.add(endpoint);
+            }
+        });
+        return endpoints;
+    }
+
+    private static void report(Map<Endpoint, LatencyStats> stats, LoadTestConfig config) throws IOException {
+        var seconds = config.getDurationSeconds();
+        List<EndpointResult> results = new ArrayList<>();
+        var total = new LatencyStats();
+        stats.forEach((endpoint, endpointStats) -> {
+            results.add(EndpointResult.of(endpoint.getTitle(), endpointStats, seconds));
+            total.merge(endpointStats);
+        });
+        results.add(EndpointResult.of("total", total, seconds));
+
+        var table = new StringBuilder(String.format("%n%-22s %9s %7s %10s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms"));
+        results.forEach(result -> table.append(String.format("%-22s %9d %7d %10.1f %9.2f %9.2f %9.2f%n",
+                result.getEndpoint(), result.getRequests(), result.getErrors(), result.getThroughput(),
+                result.getP50(), result.getP99(), result.getP999())));
+        log.info("{}", table);
+
+        Files.createDirectories(config.getReport().toAbsolutePath().getParent());
+        new ObjectMapper()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .writeValue(config.getReport().toFile(), Map.of(
+                        "threads", config.getThreads(),
+                        "java", Runtime.version().toString(),
+                        "gatewayArguments", config.getGatewayArguments(),
+                        "upstreamDelayMillis", config.getUpstreamDelay().toMillis(),
+                        "durationSeconds", seconds,
+                        "mix", config.getMix(),
+                        "results", results));
+        log.info("Report is saved to {}", config.getReport().toAbsolutePath());
+    }
+}
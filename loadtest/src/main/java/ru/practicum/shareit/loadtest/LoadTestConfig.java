@@ -0,0 +1,100 @@
+package ru.practicum.shareit.loadtest;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load test settings, read from {@code loadtest.*} system properties.
+ */
+@Getter
+@Builder
+public class LoadTestConfig {
+
+    private final Path serverJar;
+    private final Path gatewayJar;
+    private final int serverPort;
+    private final int gatewayPort;
+    private final List<String> gatewayArguments;
+    private final int proxyPort;
+    private final Duration upstreamDelay;
+    private final String datasourceUrl;
+    private final String datasourceUsername;
+    private final String datasourcePassword;
+    private final int threads;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final Map<Endpoint, Integer> mix;
+    private final int users;
+    private final int itemsPerUser;
+    private final Path report;
+
+    public static LoadTestConfig fromSystemProperties() {
+        return LoadTestConfig.builder()
+                .serverJar(requiredJar("loadtest.server.jar", "server/target/server-<version>-exec.jar"))
+                .gatewayJar(requiredJar("loadtest.gateway.jar", "gateway/target/gateway-<version>.jar"))
+                .serverPort(Integer.getInteger("loadtest.server.port", 19090))
+                .gatewayPort(Integer.getInteger("loadtest.gateway.port", 18080))
+                .gatewayArguments(parseArguments(System.getProperty("loadtest.gateway.args", "")))
+                .proxyPort(Integer.getInteger("loadtest.proxy.port", 19091))
+                .upstreamDelay(Duration.ofMillis(Long.getLong("loadtest.upstream.delay", 0L)))
+                .datasourceUrl(System.getProperty("loadtest.datasource.url"))
+                .datasourceUsername(System.getProperty("loadtest.datasource.username", "shareit"))
+                .datasourcePassword(System.getProperty("loadtest.datasource.password", "shareit"))
+                .threads(Integer.getInteger("loadtest.threads", 16))
+                .warmupSeconds(Integer.getInteger("loadtest.warmup", 10))
+                .durationSeconds(Integer.getInteger("loadtest.duration", 60))
+                .mix(parseMix(System.getProperty("loadtest.mix", "items=25,search=25,bookings=20,owner=20,requests=10")))
+                .users(Integer.getInteger("loadtest.users", 50))
+                .itemsPerUser(Integer.getInteger("loadtest.itemsPerUser", 5))
+                .report(Path.of(System.getProperty("loadtest.report", "loadtest-report.json")))
+                .build();
+    }
+
+    /**
+     * The jar named by a property the {@code loadtest} profile always sets; run on its own, the test has to be told
+     * where the build put it.
+     */
+    static Path requiredJar(String property, String example) {
+        var value = System.getProperty(property);
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(String.format("%s is not set, pass the jar built by mvn package, e.g. "
+                    + "-D%s=%s", property, property, example));
+        }
+        return Path.of(value);
+    }
+
+    /**
+     * Splits extra application arguments such as {@code --shareit.virtual-threads=true --server.tomcat.threads.max=50}
+     * on whitespace.
+     */
+    static List<String> parseArguments(String value) {
+        return value.isBlank() ? List.of() : List.of(value.trim().split("\\s+"));
+    }
+
+    /**
+     * Parses {@code name=weight} pairs such as {@code items=25,search=75}; endpoints left out get no traffic.
+     */
+    static Map<Endpoint, Integer> parseMix(String value) {
+        Map<Endpoint, Integer> mix = new EnumMap<>(Endpoint.class);
+        for (String pair : value.split(",")) {
+            var parts = pair.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid mix entry: " + pair);
+            }
+            var weight = Integer.parseInt(parts[1].trim());
+            if (weight > 0) {
+                mix.put(Endpoint.byKey(parts[0].trim()), weight);
+            }
+        }
+        if (mix.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no endpoints: " + value);
+        }
+        return mix;
+    }
+}
@@ -10,10 +10,17 @@ import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.util.batch.BatchResult;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
+import static ru.practicum.shareit.util.Constants.NEXT_CURSOR_HEADER;
 import static ru.practicum.shareit.util.Constants.USER_HEADER;
 
 @Slf4j
@@ -22,8 +29,11 @@ import static ru.practicum.shareit.util.Constants.USER_HEADER;
 @RequestMapping(path = "/bookings")
 public class BookingController {
 
+    private static final int EXPORT_BUFFER_SIZE = 16 * 1024;
+
     private final BookingService bookingService;
     private final BookingMapper bookingMapper;
+    private final BookingExporter bookingExporter;
 
     @PostMapping(consumes = "application/json")
     @ResponseStatus(HttpStatus.CREATED)
@@ -39,6 +49,14 @@ public class BookingController {
                 .body(bookingMapper.entityToBookingResponse(savedBooking));
     }
 
+    @PostMapping(consumes = "application/json", path = "/batch")
+    public ResponseEntity<List<BatchResult<BookingResponse>>> addAll(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestBody List<BookingDto> dtos) {
+        log.info("New bookings batch registration of {} bookings; user id {}", dtos.size(), userId);
+        return ResponseEntity.ok(bookingService.addAll(dtos, userId));
+    }
+
     @PatchMapping(path = "/{id}")
     public ResponseEntity<BookingResponse> approve(
             @RequestHeader(USER_HEADER) Long userId,
@@ -65,12 +83,15 @@ public class BookingController {
             @RequestHeader(USER_HEADER) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateString,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info("Get owner bookings by user id: {}, state: {} ",  userId, stateString);
         BookingState state = BookingState.from(stateString)
                 .orElseThrow(() -> new BadRequestException("Unknown state: " + stateString));
-        var response = bookingService.getAllOwner(userId, state, from, size);
-        return ResponseEntity.ok(bookingMapper.entitiesToBookingResponses(response));
+        var response = cursor == null
+                ? bookingService.getAllOwner(userId, state, from, size)
+                : bookingService.getAllOwner(userId, state, BookingCursor.decode(cursor), size);
+        return withNextCursor(response, size);
     }
 
     @GetMapping
@@ -78,12 +99,55 @@ public class BookingController {
             @RequestHeader(USER_HEADER) Long userId,
             @RequestParam(name = "state", defaultValue = "ALL") String stateString,
             @RequestParam(defaultValue = "0") Integer from,
-            @RequestParam(defaultValue = "10") Integer size) {
+            @RequestParam(defaultValue = "10") Integer size,
+            @RequestParam(required = false) String cursor) {
         log.info("Get all bookings by user id: {}, state: {} ",  userId, stateString);
         BookingState state = BookingState.from(stateString)
                 .orElseThrow(() -> new BadRequestException("Unknown state: " + stateString));
-        var response = bookingService.getAllBooker(userId, state, from, size);
-        return ResponseEntity.ok(bookingMapper.entitiesToBookingResponses(response));
+        var response = cursor == null
+                ? bookingService.getAllBooker(userId, state, from, size)
+                : bookingService.getAllBooker(userId, state, BookingCursor.decode(cursor), size);
+        return withNextCursor(response, size);
+    }
+
+    /**
+     * Streams all of the owner's bookings as NDJSON or CSV straight to the response, without a page size. A failure
+     * before the first buffer is flushed is answered like any other error; after that the body is cut short.
+     */
+    @GetMapping(path = "/owner/export")
+    public void exportOwner(
+            @RequestHeader(USER_HEADER) Long userId,
+            @RequestParam(name = "state", defaultValue = "ALL") String stateString,
+            @RequestParam(name = "format", defaultValue = "ndjson") String formatString,
+            HttpServletResponse response) throws IOException {
+        log.info("Export owner bookings by user id: {}, state: {}, format: {}", userId, stateString, formatString);
+        BookingState state = BookingState.from(stateString)
+                .orElseThrow(() -> new BadRequestException("Unknown state: " + stateString));
+        BookingExportFormat format = BookingExportFormat.from(formatString)
+                .orElseThrow(() -> new BadRequestException("Unknown format: " + formatString));
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        var out = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8),
+                EXPORT_BUFFER_SIZE);
+        try {
+            bookingExporter.exportOwner(userId, state, format, out);
+        } catch (RuntimeException e) {
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        }
+        out.flush();
+    }
+
+    private ResponseEntity<List<BookingResponse>> withNextCursor(List<BookingResponse> bookings, Integer size) {
+        if (bookings.isEmpty() || bookings.size() < size) {
+            return ResponseEntity.ok(bookings);
+        }
+        var next = BookingCursor.of(bookings.get(bookings.size() - 1));
+        return ResponseEntity.ok()
+                .header(NEXT_CURSOR_HEADER, next.encode())
+                .body(bookings);
     }
 
 }
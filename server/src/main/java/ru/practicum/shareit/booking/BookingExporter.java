@@ -0,0 +1,79 @@
+package ru.practicum.shareit.booking;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Writes the owner's bookings to {@code out} row by row as they come off the database cursor, so the export
+ * holds one row in memory whatever its size. Flushing is left to the caller: nothing reaches the client before
+ * the first buffer fills, and an error raised before that still gets a regular error response.
+ */
+@Component
+public class BookingExporter {
+
+    private static final String CSV_HEADER = "id,start,end,status,item_id,item_name,booker_id,booker_name";
+
+    private final BookingService bookingService;
+    private final ObjectWriter jsonWriter;
+
+    public BookingExporter(BookingService bookingService, ObjectMapper objectMapper) {
+        this.bookingService = bookingService;
+        this.jsonWriter = objectMapper.writerFor(BookingResponse.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    public void exportOwner(Long userId, BookingState state, BookingExportFormat format, Writer out)
+            throws IOException {
+        if (format == BookingExportFormat.CSV) {
+            out.write(CSV_HEADER);
+            out.write('\n');
+        }
+        try {
+            bookingService.exportOwner(userId, state, booking -> {
+                try {
+                    writeRow(format, booking, out);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeRow(BookingExportFormat format, BookingResponse booking, Writer out) throws IOException {
+        if (format == BookingExportFormat.NDJSON) {
+            jsonWriter.writeValue(out, booking);
+        } else {
+            out.write(String.join(",", String.valueOf(booking.getId()), String.valueOf(booking.getStart()),
+                    String.valueOf(booking.getEnd()), String.valueOf(booking.getStatus()),
+                    String.valueOf(booking.getItem().getId()), csvField(booking.getItem().getName()),
+                    String.valueOf(booking.getBooker().getId()), csvField(booking.getBooker().getName())));
+        }
+        out.write('\n');
+    }
+
+    /**
+     * Quotes a free-text field when it holds a separator, a quote or a line break, doubling inner quotes as
+     * RFC 4180 asks.
+     */
+    static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+}
@@ -1,42 +1,45 @@
 package ru.practicum.shareit.booking;
 
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
 
-    List<Booking> findAllByItemOwner(User owner, Pageable page);
-
-    List<Booking> findAllByItemOwnerAndStartBeforeAndEndAfter(User owner, LocalDateTime start, LocalDateTime end,
-                                                              Pageable page);
-
-    List<Booking> findAllByItemOwnerAndEndBefore(User owner, LocalDateTime end, Pageable page);
-
-    List<Booking> findAllByItemOwnerAndStartAfter(User owner, LocalDateTime start, Pageable page);
-
-    List<Booking> findAllByItemOwnerAndStatusEquals(User owner, BookingStatus status, Pageable page);
-
-    List<Booking> findAllByBooker(User booker, Pageable page);
+    List<Booking> findAllByBookerAndItemAndStatusEqualsAndEndIsBefore(User user, Item item, BookingStatus status,
+                                                                      LocalDateTime start);
 
-    List<Booking> findAllByBookerAndStartBeforeAndEndAfter(User booker, LocalDateTime start, LocalDateTime end,
-                                                           Pageable page);
+    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.status IN :statuses AND b.end > :after " +
+            "ORDER BY b.start")
+    List<Booking> findAllByItemIdEndingAfter(Long itemId, Collection<BookingStatus> statuses, LocalDateTime after);
 
-    List<Booking> findAllByBookerAndEndBefore(User booker, LocalDateTime end, Pageable page);
+    @Query("SELECT b FROM Booking b WHERE b.item.id = :itemId AND b.status IN :statuses " +
+            "AND b.start < :end AND b.end > :start ORDER BY b.start")
+    List<Booking> findAllByItemIdOverlapping(Long itemId, Collection<BookingStatus> statuses, LocalDateTime start,
+                                             LocalDateTime end);
 
-    List<Booking> findAllByBookerAndStartAfter(User booker, LocalDateTime start, Pageable page);
+    @Query("SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.start < :end AND b.end > :start")
+    List<Booking> findAllOverlapping(Collection<Long> itemIds, BookingStatus status, LocalDateTime start,
+                                     LocalDateTime end);
 
-    List<Booking> findAllByBookerAndStatusEquals(User booker, BookingStatus status, Pageable page);
+    Booking findFirstByItemAndStatusAndStartBeforeOrderByStartDesc(Item item, BookingStatus bookingStatus, LocalDateTime date);
 
-    List<Booking> findAllByBookerAndItemAndStatusEqualsAndEndIsBefore(User user, Item item, BookingStatus status,
-                                                                      LocalDateTime start);
+    Booking findFirstByItemAndStatusAndStartAfterOrderByStart(Item item, BookingStatus bookingStatus, LocalDateTime now);
 
-    Booking findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(Long itemId, BookingStatus bookingStatus, LocalDateTime date);
+    @Query("SELECT new ru.practicum.shareit.booking.ItemBooking(b.item.id, b.id, b.booker.id) FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status AND b.start = " +
+            "(SELECT MAX(l.start) FROM Booking l WHERE l.item = b.item AND l.status = :status AND l.start < :date)")
+    List<ItemBooking> findLastByItemIdIn(Collection<Long> itemIds, BookingStatus status, LocalDateTime date);
 
-    Booking findFirstByItemIdAndStatusAndStartAfterOrderByStart(Long itemId, BookingStatus bookingStatus, LocalDateTime now);
+    @Query("SELECT new ru.practicum.shareit.booking.ItemBooking(b.item.id, b.id, b.booker.id) FROM Booking b " +
+            "WHERE b.item.id IN :itemIds AND b.status = :status AND b.start = " +
+            "(SELECT MIN(n.start) FROM Booking n WHERE n.item = b.item AND n.status = :status AND n.start > :date)")
+    List<ItemBooking> findNextByItemIdIn(Collection<Long> itemIds, BookingStatus status, LocalDateTime date);
 
 }
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingResponse;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BookingRepositoryCustom {
+
+    List<BookingResponse> findAllByOffset(Long userId, BookingRole role, BookingState state, int offset, int size);
+
+    List<BookingResponse> findAllByCursor(Long userId, BookingRole role, BookingState state, BookingCursor cursor, int size);
+
+    Stream<BookingResponse> streamAll(Long userId, BookingRole role, BookingState state);
+
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import org.hibernate.jpa.QueryHints;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.booking.BookingStatus.REJECTED;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
+
+public class BookingRepositoryImpl implements BookingRepositoryCustom {
+
+    private static final int EXPORT_FETCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BookingResponse> findAllByOffset(Long userId, BookingRole role, BookingState state, int offset, int size) {
+        return findAll(userId, role, state, null, offset, size);
+    }
+
+    @Override
+    public List<BookingResponse> findAllByCursor(Long userId, BookingRole role, BookingState state, BookingCursor cursor,
+                                         int size) {
+        return findAll(userId, role, state, cursor, 0, size);
+    }
+
+    /**
+     * Reads the listing through a forward-only cursor that the driver fills {@value #EXPORT_FETCH_SIZE} rows at a
+     * time. Rows are DTO projections, so nothing is added to the persistence context however long the stream is.
+     * The stream must be closed, and consumed inside the transaction that opened it.
+     */
+    @Override
+    public Stream<BookingResponse> streamAll(Long userId, BookingRole role, BookingState state) {
+        return entityManager.createQuery(listing(userId, role, state, null))
+                .setHint(QueryHints.HINT_FETCH_SIZE, EXPORT_FETCH_SIZE)
+                .setHint(QueryHints.HINT_READONLY, true)
+                .getResultStream();
+    }
+
+    /**
+     * Selects straight into {@link BookingResponse}, joining the item and the booker in the same statement, so
+     * no entities or proxies enter the persistence context.
+     */
+    private List<BookingResponse> findAll(Long userId, BookingRole role, BookingState state, BookingCursor cursor,
+                                  int offset, int size) {
+        return entityManager.createQuery(listing(userId, role, state, cursor))
+                .setFirstResult(offset)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private CriteriaQuery<BookingResponse> listing(Long userId, BookingRole role, BookingState state,
+                                                   BookingCursor cursor) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(BookingResponse.class);
+        var root = query.from(Booking.class);
+        Join<Booking, Item> item = root.join("item");
+        Join<Booking, User> booker = root.join("booker");
+
+        var predicates = new ArrayList<Predicate>();
+        predicates.add(role == BookingRole.OWNER
+                ? cb.equal(item.get("owner").get("id"), userId)
+                : cb.equal(booker.get("id"), userId));
+        predicates.addAll(statePredicates(cb, root, state, LocalDateTime.now()));
+        if (cursor != null) {
+            predicates.add(cb.or(
+                    cb.lessThan(root.get("start"), cursor.getStart()),
+                    cb.and(cb.equal(root.get("start"), cursor.getStart()),
+                            cb.lessThan(root.get("id"), cursor.getId()))));
+        }
+
+        return query.select(cb.construct(BookingResponse.class, root.get("id"), root.get("start"), root.get("end"),
+                        booker.get("id"), booker.get("name"), item.get("id"), item.get("name"), root.get("status")))
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.desc(root.get("start")), cb.desc(root.get("id")));
+    }
+
+    private static List<Predicate> statePredicates(CriteriaBuilder cb, Root<Booking> root, BookingState state,
+                                                   LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return List.of();
+            case CURRENT:
+                return List.of(cb.lessThan(root.get("start"), now), cb.greaterThan(root.get("end"), now));
+            case PAST:
+                return List.of(cb.lessThan(root.get("end"), now));
+            case FUTURE:
+                return List.of(cb.greaterThan(root.get("start"), now));
+            case WAITING:
+                return List.of(cb.equal(root.get("status"), WAITING));
+            case REJECTED:
+                return List.of(cb.equal(root.get("status"), REJECTED));
+            default:
+                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+}
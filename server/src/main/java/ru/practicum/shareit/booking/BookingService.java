@@ -1,38 +1,49 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ClientErrorException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
-import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserLookup;
+import ru.practicum.shareit.util.batch.BatchResult;
+import ru.practicum.shareit.util.batch.ChunkedWriter;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpStatus.*;
 import static ru.practicum.shareit.booking.BookingStatus.*;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRepository itemRepository;
     private final BookingMapper bookingMapper;
-
-    private final Sort sort = Sort.by(Sort.Direction.DESC, "start");
+    private final ApplicationEventPublisher eventPublisher;
+    private final ChunkedWriter chunkedWriter;
 
     @Transactional
     public Booking add(BookingDto dto, Long userId) {
-        var user = getUser(userId);
+        var user = userLookup.getReference(userId);
         var item = itemRepository.findById(dto.getItemId())
                 .orElseThrow(() -> new NotFoundException("item with id %d not found", dto.getItemId()));
         if (!item.getAvailable()) {
@@ -43,11 +54,67 @@ public class BookingService {
         }
 
         var booking = bookingMapper.dtoToEntity(dto);
+        checkNotBooked(item, booking.getStart(), booking.getEnd());
         booking.setStatus(WAITING);
         booking.setItem(item);
         booking.setBooker(user);
 
-        return bookingRepository.save(booking);
+        var savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(item.getId()));
+        return savedBooking;
+    }
+
+    /**
+     * Adds bookings of one booker in batched inserts. The booker is checked once, the items are loaded with one
+     * query and the approved bookings they could clash with with another; every row is then checked the way
+     * {@link #add} checks it and fails on its own.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchResult<BookingResponse>> addAll(List<BookingDto> dtos, Long userId) {
+        userLookup.checkExists(userId);
+        var itemIds = dtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        var ranged = dtos.stream()
+                .filter(BookingService::hasRange)
+                .collect(Collectors.toList());
+        Map<Long, Item> items = Map.of();
+        Map<Long, List<Booking>> approved = Map.of();
+        if (!itemIds.isEmpty()) {
+            items = itemRepository.findAllById(itemIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+        }
+        if (!itemIds.isEmpty() && !ranged.isEmpty()) {
+            approved = bookingRepository.findAllOverlapping(itemIds, APPROVED,
+                    ranged.stream().map(BookingDto::getStart).min(Comparator.naturalOrder()).orElseThrow(),
+                    ranged.stream().map(BookingDto::getEnd).max(Comparator.naturalOrder()).orElseThrow()).stream()
+                    .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+        }
+
+        var results = ChunkedWriter.<BookingResponse>results(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            results.set(i, reject(i, dtos.get(i), userId, items, approved));
+        }
+
+        return chunkedWriter.write(dtos, results, chunk -> {
+            var booker = userLookup.getReference(userId);
+            var bookings = chunk.stream()
+                    .map(dto -> {
+                        var booking = bookingMapper.dtoToEntity(dto);
+                        booking.setStatus(WAITING);
+                        booking.setItem(itemRepository.getReferenceById(dto.getItemId()));
+                        booking.setBooker(booker);
+                        return booking;
+                    })
+                    .collect(Collectors.toList());
+            var savedBookings = bookingRepository.saveAll(bookings);
+            chunk.stream()
+                    .map(BookingDto::getItemId)
+                    .distinct()
+                    .forEach(itemId -> eventPublisher.publishEvent(new BookingChangedEvent(itemId)));
+            return bookingMapper.entitiesToBookingResponses(savedBookings);
+        });
     }
 
     @Transactional
@@ -63,9 +130,19 @@ public class BookingService {
             throw new BadRequestException("impossible to change booking with id %d ", id);
         }
 
+        if (approved) {
+            itemRepository.findByIdForUpdate(booking.getItem().getId());
+            checkNotBooked(booking.getItem(), booking.getStart(), booking.getEnd());
+        }
         booking.setStatus(approved ? APPROVED : REJECTED);
 
-        return bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingChangedEvent(booking.getItem().getId()));
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            throw new ClientErrorException("item with id %s is already booked for this period",
+                    booking.getItem().getId().toString());
+        }
     }
 
     @Transactional(readOnly = true)
@@ -86,74 +163,102 @@ public class BookingService {
     }
 
     @Transactional(readOnly = true)
-    public List<Booking> getAllOwner(Long userId, BookingState state, Integer from, Integer size) {
-        var user = getUser(userId);
-        var page = PageRequest.of(from / size, size, sort);
-        List<Booking> bookings = new ArrayList<>();
-
-        switch (state) {
-            case ALL:
-                bookings.addAll(bookingRepository.findAllByItemOwner(user, page));
-                break;
-            case CURRENT:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndStartBeforeAndEndAfter(user, LocalDateTime.now(),
-                        LocalDateTime.now(), page));
-                break;
-            case PAST:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndEndBefore(user, LocalDateTime.now(), page));
-                break;
-            case FUTURE:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndStartAfter(user, LocalDateTime.now(), page));
-                break;
-            case WAITING:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndStatusEquals(user, WAITING, page));
-                break;
-            case REJECTED:
-                bookings.addAll(bookingRepository.findAllByItemOwnerAndStatusEquals(user, REJECTED, page));
-                break;
-            default:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
-        }
+    public List<BookingResponse> getAllOwner(Long userId, BookingState state, Integer from, Integer size) {
+        return checkUserIfEmpty(userId,
+                bookingRepository.findAllByOffset(userId, BookingRole.OWNER, state, from / size * size, size));
+    }
 
-        return bookings;
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getAllBooker(Long userId, BookingState state, Integer from, Integer size) {
+        return checkUserIfEmpty(userId,
+                bookingRepository.findAllByOffset(userId, BookingRole.BOOKER, state, from / size * size, size));
     }
 
     @Transactional(readOnly = true)
-    public List<Booking> getAllBooker(Long userId, BookingState state, Integer from, Integer size) {
-        var user = getUser(userId);
-        var page = PageRequest.of(from / size, size, sort);
-        List<Booking> bookings = new ArrayList<>();
-
-        switch (state) {
-            case ALL:
-                bookings.addAll(bookingRepository.findAllByBooker(user, page));
-                break;
-            case CURRENT:
-                bookings.addAll(bookingRepository.findAllByBookerAndStartBeforeAndEndAfter(user, LocalDateTime.now(),
-                        LocalDateTime.now(), page));
-                break;
-            case PAST:
-                bookings.addAll(bookingRepository.findAllByBookerAndEndBefore(user, LocalDateTime.now(), page));
-                break;
-            case FUTURE:
-                bookings.addAll(bookingRepository.findAllByBookerAndStartAfter(user, LocalDateTime.now(), page));
-                break;
-            case WAITING:
-                bookings.addAll(bookingRepository.findAllByBookerAndStatusEquals(user, WAITING, page));
-                break;
-            case REJECTED:
-                bookings.addAll(bookingRepository.findAllByBookerAndStatusEquals(user, REJECTED, page));
-                break;
-            default:
-                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+    public List<BookingResponse> getAllOwner(Long userId, BookingState state, BookingCursor cursor, Integer size) {
+        return checkUserIfEmpty(userId,
+                bookingRepository.findAllByCursor(userId, BookingRole.OWNER, state, cursor, size));
+    }
+
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getAllBooker(Long userId, BookingState state, BookingCursor cursor, Integer size) {
+        return checkUserIfEmpty(userId,
+                bookingRepository.findAllByCursor(userId, BookingRole.BOOKER, state, cursor, size));
+    }
+
+    /**
+     * Feeds every booking of the owner's items, newest first, to {@code consumer} while the cursor is open. The
+     * user is checked up front, since the export has started streaming by the time an empty result is known.
+     */
+    @Transactional(readOnly = true)
+    public void exportOwner(Long userId, BookingState state, Consumer<BookingResponse> consumer) {
+        userLookup.checkExists(userId);
+        try (var bookings = bookingRepository.streamAll(userId, BookingRole.OWNER, state)) {
+            bookings.forEach(consumer);
         }
+    }
 
+    /**
+     * A non-empty listing proves the user exists; only an empty one costs a second statement to tell
+     * "no bookings" from "no such user".
+     */
+    private List<BookingResponse> checkUserIfEmpty(Long userId, List<BookingResponse> bookings) {
+        if (bookings.isEmpty()) {
+            userLookup.checkExists(userId);
+        }
         return bookings;
     }
 
-    private User getUser(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("user with id %d not found", userId));
+    private static boolean hasRange(BookingDto dto) {
+        return dto.getStart() != null && dto.getEnd() != null && dto.getStart().isBefore(dto.getEnd());
+    }
+
+    private static BatchResult<BookingResponse> reject(int index, BookingDto dto, Long userId, Map<Long, Item> items,
+                                                       Map<Long, List<Booking>> approved) {
+        if (dto.getItemId() == null) {
+            return BatchResult.failed(index, BAD_REQUEST, "item id should not be empty");
+        }
+        if (dto.getStart() == null) {
+            return BatchResult.failed(index, BAD_REQUEST, "start booking should not be empty");
+        }
+        if (dto.getEnd() == null) {
+            return BatchResult.failed(index, BAD_REQUEST, "end booking should not be empty");
+        }
+        if (!hasRange(dto)) {
+            return BatchResult.failed(index, BAD_REQUEST, "start booking must be before end booking");
+        }
+        var item = items.get(dto.getItemId());
+        if (item == null) {
+            return BatchResult.failed(index, NOT_FOUND, String.format("item with id %d not found", dto.getItemId()));
+        }
+        if (!item.getAvailable()) {
+            return BatchResult.failed(index, BAD_REQUEST,
+                    String.format("item with id %d is not available", item.getId()));
+        }
+        if (item.getOwner().getId().equals(userId)) {
+            return BatchResult.failed(index, NOT_FOUND,
+                    String.format("impossible to book item with %d ", item.getId()));
+        }
+        var clash = approved.getOrDefault(item.getId(), List.of()).stream()
+                .anyMatch(booking -> booking.getStart().isBefore(dto.getEnd())
+                        && booking.getEnd().isAfter(dto.getStart()));
+        if (clash) {
+            return BatchResult.failed(index, CONFLICT,
+                    String.format("item with id %s is already booked for this period", item.getId()));
+        }
+        return null;
+    }
+
+    /**
+     * Approved bookings of an item never overlap (approval holds the item row lock, and PostgreSQL also enforces
+     * it with an exclusion constraint), so the latest one starting before {@code end} is the only candidate.
+     */
+    private void checkNotBooked(Item item, LocalDateTime start, LocalDateTime end) {
+        var previous = bookingRepository.findFirstByItemAndStatusAndStartBeforeOrderByStartDesc(item, APPROVED, end);
+        if (previous != null && previous.getEnd().isAfter(start)) {
+            throw new ClientErrorException("item with id %s is already booked for this period",
+                    item.getId().toString());
+        }
     }
 
 }
@@ -0,0 +1,18 @@
+package ru.practicum.shareit.booking;
+
+import lombok.Getter;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
+
+/**
+ * Booking projection tagged with its item, used to attach last and next bookings to several items at once.
+ */
+@Getter
+public class ItemBooking {
+    private final Long itemId;
+    private final BookingShortDto booking;
+
+    public ItemBooking(Long itemId, Long id, Long bookerId) {
+        this.itemId = itemId;
+        this.booking = new BookingShortDto(id, bookerId);
+    }
+}
@@ -19,4 +19,10 @@ public class BookingResponse {
     private UserBookerResponse booker;
     private ItemBookerResponse item;
     private BookingStatus status;
+
+    public BookingResponse(Long id, LocalDateTime start, LocalDateTime end, Long bookerId, String bookerName,
+                           Long itemId, String itemName, BookingStatus status) {
+        this(id, start, end, new UserBookerResponse(bookerId, bookerName), new ItemBookerResponse(itemId, itemName),
+                status);
+    }
 }
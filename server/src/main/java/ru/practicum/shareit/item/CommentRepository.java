@@ -1,12 +1,21 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
-    List<Comment> findAllByItemId(Long itemId);
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentResponse(c.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id = :itemId ORDER BY c.id")
+    List<CommentResponse> findResponsesByItemId(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.item.ItemComment(c.item.id, c.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id IN :itemIds ORDER BY c.id")
+    List<ItemComment> findAllByItemIdIn(Collection<Long> itemIds);
 
 }
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingChangedEvent;
+import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.BookingStatus;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilityInterval;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
+import static ru.practicum.shareit.booking.BookingStatus.WAITING;
+import static ru.practicum.shareit.util.CacheConfig.ITEM_BUSY_PERIODS;
+
+/**
+ * Free/busy calendar of an item. The merged busy periods of approved or waiting bookings that had not ended when
+ * loaded are cached per item and evicted once a booking of the item is created or approved; deleting a user
+ * cascades to bookings in the database, so it clears the whole cache. A window reaching further back than the
+ * cached periods is read with a range query of its own.
+ */
+@Service
+@RequiredArgsConstructor
+public class ItemAvailabilityService {
+
+    private static final List<BookingStatus> BUSY = List.of(APPROVED, WAITING);
+
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final CacheManager cacheManager;
+
+    @Transactional(readOnly = true)
+    public List<AvailabilityInterval> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("from must be before to");
+        }
+        if (!itemRepository.existsById(itemId)) {
+            throw new NotFoundException("item with id %d not found", itemId);
+        }
+
+        var intervals = new ArrayList<AvailabilityInterval>();
+        var position = from;
+        for (var busy : busyPeriods(itemId, from, to)) {
+            if (!busy.getEnd().isAfter(position)) {
+                continue;
+            }
+            if (!busy.getStart().isBefore(to)) {
+                break;
+            }
+            if (busy.getStart().isAfter(position)) {
+                intervals.add(new AvailabilityInterval(position, busy.getStart(), true));
+                position = busy.getStart();
+            }
+            var end = busy.getEnd().isBefore(to) ? busy.getEnd() : to;
+            intervals.add(new AvailabilityInterval(position, end, false));
+            position = end;
+        }
+        if (position.isBefore(to)) {
+            intervals.add(new AvailabilityInterval(position, to, true));
+        }
+        return intervals;
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        cache().evict(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        cache().clear();
+    }
+
+    private List<AvailabilityInterval> busyPeriods(Long itemId, LocalDateTime from, LocalDateTime to) {
+        var upcoming = cache().get(itemId, () -> {
+            var now = LocalDateTime.now();
+            return new BusyPeriods(now, merge(bookingRepository.findAllByItemIdEndingAfter(itemId, BUSY, now)));
+        });
+        if (!from.isBefore(upcoming.getSince())) {
+            return upcoming.getPeriods();
+        }
+        return merge(bookingRepository.findAllByItemIdOverlapping(itemId, BUSY, from, to));
+    }
+
+    private static List<AvailabilityInterval> merge(List<Booking> bookings) {
+        var periods = new ArrayList<AvailabilityInterval>();
+        AvailabilityInterval last = null;
+        for (var booking : bookings) {
+            if (last != null && !booking.getStart().isAfter(last.getEnd())) {
+                if (booking.getEnd().isAfter(last.getEnd())) {
+                    last.setEnd(booking.getEnd());
+                }
+                continue;
+            }
+            last = new AvailabilityInterval(booking.getStart(), booking.getEnd(), false);
+            periods.add(last);
+        }
+        return List.copyOf(periods);
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(ITEM_BUSY_PERIODS);
+    }
+
+    /**
+     * Busy periods of the bookings that end after {@code since}.
+     */
+    @Value
+    private static class BusyPeriods {
+        LocalDateTime since;
+        List<AvailabilityInterval> periods;
+    }
+}
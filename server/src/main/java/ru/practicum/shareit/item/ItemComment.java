@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.CommentResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * Comment projection tagged with its item, used to group comments of several items fetched in one query.
+ */
+@Getter
+public class ItemComment {
+    private final Long itemId;
+    private final CommentResponse comment;
+
+    public ItemComment(Long itemId, Long id, String text, String authorName, LocalDateTime created) {
+        this.itemId = itemId;
+        this.comment = new CommentResponse(id, text, authorName, created);
+    }
+}
@@ -2,18 +2,23 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import ru.practicum.shareit.item.dto.AvailabilityInterval;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.util.batch.BatchResult;
 
 import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
 
@@ -25,49 +30,47 @@ import static ru.practicum.shareit.util.Constants.USER_HEADER;
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ItemAvailabilityService itemAvailabilityService;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
 
     @GetMapping
     public ResponseEntity<List<ItemResponse>> getAll(@RequestHeader(USER_HEADER) Long userId) {
         log.info("Get all items by user id: {}", userId);
-        var items = itemMapper.entitiesToItemResponses(itemService.getAllByUserId(userId));
-        items.forEach(item -> {
-            item.setComments(
-                    commentMapper.entitiesToCommentResponses(
-                            itemService.findCommentsByItemId(
-                                    item.getId())));
-            itemService.updateBookingFields(item);
-        });
-        return ResponseEntity.ok(items);
+        return ResponseEntity.ok(itemService.getAllResponsesByUserId(userId));
     }
 
     @GetMapping(path = "/{id}")
-    public ResponseEntity<ItemResponse> get(@RequestHeader(USER_HEADER) Long userId, @PathVariable("id") Long id) {
+    public ResponseEntity<ItemResponse> get(@RequestHeader(USER_HEADER) Long userId, @PathVariable("id") Long id,
+                                            WebRequest request) {
         log.info("Get item by id: {}", id);
-        var optionalItem = itemService.findById(id);
-        if (optionalItem.isEmpty()) {
-            return ResponseEntity.notFound().build();
+        var view = itemService.getView(id, userId);
+        if (request.checkNotModified(view.getTag())) {
+            return null;
         }
+        return ResponseEntity.ok(view.getItem());
+    }
 
-        var itemResponse = itemMapper.entityToItemResponse(optionalItem.get());
-        var comments = itemService.findCommentsByItemId(itemResponse.getId());
-        itemResponse.setComments(commentMapper.entitiesToCommentResponses(comments));
-        if (optionalItem.get().getOwner().getId().equals(userId)) {
-            itemResponse = itemService.updateBookingFields(itemResponse);
-        }
-        return ResponseEntity.ok(itemResponse);
-
+    @GetMapping(path = "/{id}/availability")
+    public ResponseEntity<List<AvailabilityInterval>> getAvailability(
+            @RequestHeader(USER_HEADER) Long userId,
+            @PathVariable("id") Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        log.info("Get availability of item id {} from {} to {}, by userid {}", id, from, to, userId);
+        return ResponseEntity.ok(itemAvailabilityService.getAvailability(id, from, to));
     }
 
     @GetMapping(path = "/search")
     public ResponseEntity<List<ItemResponse>> search(@RequestHeader(USER_HEADER) Long userId,
-                                                     @RequestParam(value = "text") String searchString) {
+                                                     @RequestParam(value = "text") String searchString,
+                                                     @RequestParam(defaultValue = "0") Integer from,
+                                                     @RequestParam(required = false) Integer size) {
         log.info("Get search items by {}, by userid {}", searchString, userId);
         if (searchString.isBlank()) {
             return ResponseEntity.ok(Collections.emptyList());
         }
-        return ResponseEntity.ok(itemMapper.entitiesToItemResponses(itemService.searchItems(searchString)));
+        return ResponseEntity.ok(itemMapper.entitiesToItemResponses(itemService.searchItems(searchString, from, size)));
     }
 
     @PostMapping(consumes = "application/json")
@@ -82,6 +85,13 @@ public class ItemController {
                 .body(itemMapper.entityToItemResponse(savedItem));
     }
 
+    @PostMapping(consumes = "application/json", path = "/batch")
+    public ResponseEntity<List<BatchResult<ItemResponse>>> addAll(@RequestHeader(USER_HEADER) Long userId,
+                                                                   @RequestBody List<ItemDto> dtos) {
+        log.info("New items batch registration of {} items; user id {}", dtos.size(), userId);
+        return ResponseEntity.ok(itemService.addAll(dtos, userId));
+    }
+
     @PatchMapping(consumes = "application/json", path = "/{id}")
     public ResponseEntity<ItemResponse> update(@RequestHeader(USER_HEADER) Long userId,
                                        @PathVariable("id") Long id,
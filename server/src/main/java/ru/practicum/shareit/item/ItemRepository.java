@@ -1,21 +1,40 @@
 package ru.practicum.shareit.item;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.LockModeType;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     List<Item> findAllByOwnerIdOrderById(Long userId);
 
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemResponse(i.id, i.name, i.description, i.available, " +
+            "i.request.id) FROM Item i WHERE i.owner.id = :userId ORDER BY i.id")
+    List<ItemResponse> findResponsesByOwnerId(Long userId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :id")
+    Optional<Item> findByIdForUpdate(Long id);
+
     @Query(value = "SELECT * FROM items AS i WHERE i.is_available = true AND " +
-            "(LOWER(i.name) LIKE CONCAT('%', LOWER(?1) , '%') OR " +
-            "LOWER(i.description) LIKE CONCAT('%', LOWER(?1), '%')) ",
+            "(LOWER(i.name) LIKE CONCAT('%', LOWER(:pattern), '%') OR " +
+            "LOWER(i.description) LIKE CONCAT('%', LOWER(:pattern), '%')) " +
+            "ORDER BY CASE WHEN LOWER(i.name) LIKE CONCAT('%', LOWER(:pattern), '%') THEN 0 ELSE 1 END, i.id " +
+            "LIMIT :size OFFSET :from",
             nativeQuery = true)
-    List<Item> findByNameOrDescription(String searchString);
+    List<Item> findByNameOrDescription(String pattern, Integer from, Integer size);
 
+    @Query("SELECT i FROM Item i WHERE i.request.id = :requestId")
     List<Item> findAllByRequestId(Long requestId);
 
+    @Query("SELECT i FROM Item i WHERE i.request.id IN :requestIds")
+    List<Item> findAllByRequestIdIn(Collection<Long> requestIds);
+
 }
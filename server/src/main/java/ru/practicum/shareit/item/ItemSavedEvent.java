@@ -0,0 +1,20 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import ru.practicum.shareit.item.model.Item;
+
+@Data
+@AllArgsConstructor
+public class ItemSavedEvent {
+    private Long id;
+    private String name;
+    private String description;
+    private Boolean available;
+    private Long requestId;
+
+    public static ItemSavedEvent of(Item item) {
+        return new ItemSavedEvent(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequest() == null ? null : item.getRequest().getId());
+    }
+}
@@ -1,28 +1,40 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.BookingRepository;
+import ru.practicum.shareit.booking.ItemBooking;
+import ru.practicum.shareit.booking.dto.BookingShortDto;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.exception.BadRequestException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchEngine;
 import ru.practicum.shareit.request.ItemRequestRepository;
-import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
+import ru.practicum.shareit.util.ResourceTags;
+import ru.practicum.shareit.util.batch.BatchResult;
+import ru.practicum.shareit.util.batch.ChunkedWriter;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
+import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
 
 @Service
@@ -31,25 +43,51 @@ import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
 public class ItemService {
 
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
+    private final ItemSearchEngine itemSearchEngine;
+    private final ItemViewCache itemViewCache;
+    private final ResourceTags resourceTags;
+    private final ChunkedWriter chunkedWriter;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<Item> getAllByUserId(Long userId) {
         return itemRepository.findAllByOwnerIdOrderById(userId);
     }
 
+    public List<ItemResponse> getAllResponsesByUserId(Long userId) {
+        var items = itemRepository.findResponsesByOwnerId(userId);
+        if (items.isEmpty()) {
+            return items;
+        }
+
+        var itemIds = items.stream()
+                .map(ItemResponse::getId)
+                .collect(Collectors.toList());
+        var comments = commentRepository.findAllByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(ItemComment::getItemId,
+                        Collectors.mapping(ItemComment::getComment, Collectors.toList())));
+        var now = LocalDateTime.now();
+        var lastBookings = byItemId(bookingRepository.findLastByItemIdIn(itemIds, APPROVED, now));
+        var nextBookings = byItemId(bookingRepository.findNextByItemIdIn(itemIds, APPROVED, now));
+
+        items.forEach(item -> {
+            item.setComments(comments.getOrDefault(item.getId(), Collections.emptyList()));
+            item.setLastBooking(lastBookings.get(item.getId()));
+            item.setNextBooking(nextBookings.get(item.getId()));
+        });
+        return items;
+    }
+
     @Transactional
     public Item add(ItemDto dto, Long userId) {
         var item = itemMapper.dtoToEntity(dto);
-        userRepository.findById(userId).ifPresentOrElse(item::setOwner,
-                () -> {
-                    throw new NotFoundException("user with id %d not found", userId);
-        });
+        item.setOwner(userLookup.getReference(userId));
 
         if (dto.getRequestId() != null) {
             var itemRequest = itemRequestRepository.findById(dto.getRequestId())
@@ -57,7 +95,50 @@ public class ItemService {
             item.setRequest(itemRequest);
         }
 
-        return itemRepository.save(item);
+        var savedItem = itemRepository.save(item);
+        eventPublisher.publishEvent(ItemSavedEvent.of(savedItem));
+        return savedItem;
+    }
+
+    /**
+     * Adds items of one owner in batched inserts. The owner is checked once and all referenced requests with one
+     * query; a row naming an unknown request fails on its own.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<BatchResult<ItemResponse>> addAll(List<ItemDto> dtos, Long userId) {
+        userLookup.checkExists(userId);
+        var requestIds = dtos.stream()
+                .map(ItemDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        var knownRequestIds = requestIds.isEmpty() ? Collections.<Long>emptySet()
+                : itemRequestRepository.findIdsByIdIn(requestIds);
+
+        var results = ChunkedWriter.<ItemResponse>results(dtos.size());
+        for (int i = 0; i < dtos.size(); i++) {
+            var requestId = dtos.get(i).getRequestId();
+            if (requestId != null && !knownRequestIds.contains(requestId)) {
+                results.set(i, BatchResult.failed(i, NOT_FOUND,
+                        String.format("item request with id %d not found", requestId)));
+            }
+        }
+
+        return chunkedWriter.write(dtos, results, chunk -> {
+            var owner = userLookup.getReference(userId);
+            var items = chunk.stream()
+                    .map(dto -> {
+                        var item = itemMapper.dtoToEntity(dto);
+                        item.setOwner(owner);
+                        if (dto.getRequestId() != null) {
+                            item.setRequest(itemRequestRepository.getReferenceById(dto.getRequestId()));
+                        }
+                        return item;
+                    })
+                    .collect(Collectors.toList());
+            var savedItems = itemRepository.saveAll(items);
+            savedItems.forEach(item -> eventPublisher.publishEvent(ItemSavedEvent.of(item)));
+            return itemMapper.entitiesToItemResponses(savedItems);
+        });
     }
 
     @Transactional
@@ -69,6 +150,7 @@ public class ItemService {
                 }
                 itemMapper.updateEntity(value, dto);
                 itemRepository.save(value);
+                eventPublisher.publishEvent(ItemSavedEvent.of(value));
         });
         return Optional.of(optItem.get());
     }
@@ -77,16 +159,33 @@ public class ItemService {
         return Optional.of(getItem(id));
     }
 
-    public List<Item> searchItems(String searchString) {
+    /**
+     * The item with its comments and, for the owner, the last and next bookings, with the tag the view was built
+     * with. Served from {@link ItemViewCache} and run without a transaction, so that a cache hit does not borrow a
+     * connection.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public ItemView getView(Long itemId, Long userId) {
+        var view = itemViewCache.get(itemId, false, () -> loadView(itemId));
+        if (!view.getOwnerId().equals(userId)) {
+            return view;
+        }
+        return itemViewCache.get(itemId, true, () -> withBookings(view));
+    }
+
+    /**
+     * Available items matching the text, from {@code from} on; without a {@code size} every match is returned.
+     */
+    public List<Item> searchItems(String searchString, Integer from, Integer size) {
         if (searchString.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.findByNameOrDescription(searchString);
+        return itemSearchEngine.search(searchString, from, size == null ? Integer.MAX_VALUE : size);
     }
 
     @Transactional
     public Comment addComment(CommentDto dto, Long itemId, Long userId) {
-        var user = getUser(userId);
+        var user = userLookup.getReference(userId);
         var item = getItem(itemId);
         if (bookingRepository.findAllByBookerAndItemAndStatusEqualsAndEndIsBefore(user, item, APPROVED,
                 LocalDateTime.now()).isEmpty()) {
@@ -98,33 +197,54 @@ public class ItemService {
         comment.setAuthor(user);
         comment.setCreated(LocalDateTime.now());
 
-        return commentRepository.save(comment);
+        var savedComment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentAddedEvent(itemId));
+        return savedComment;
+    }
+
+    public List<CommentResponse> findCommentsByItemId(Long itemId) {
+        return commentRepository.findResponsesByItemId(itemId);
     }
 
-    public List<Comment> findCommentsByItemId(Long itemId) {
-        return commentRepository.findAllByItemId(itemId);
+    private ItemView loadView(Long itemId) {
+        var item = getItem(itemId);
+        var response = itemMapper.entityToItemResponse(item);
+        response.setComments(findCommentsByItemId(itemId));
+        return new ItemView(item.getOwner().getId(), response, resourceTags.next(), null);
+    }
+
+    private ItemView withBookings(ItemView view) {
+        var source = view.getItem();
+        var response = new ItemResponse(source.getId(), source.getName(), source.getDescription(),
+                source.getAvailable(), null, null, source.getComments(), source.getRequestId());
+        var nextStart = setBookingFields(response, LocalDateTime.now());
+        return new ItemView(view.getOwnerId(), response, resourceTags.next(), nextStart);
     }
 
-    public ItemResponse updateBookingFields(ItemResponse dto) {
+    /**
+     * Sets the last and next approved bookings as of {@code now} and returns the start of the next one, when the
+     * pair changes.
+     */
+    private LocalDateTime setBookingFields(ItemResponse dto, LocalDateTime now) {
+        var item = itemRepository.getReferenceById(dto.getId());
         var lastBooking = bookingRepository
-                .findFirstByItemIdAndStatusAndStartBeforeOrderByStartDesc(dto.getId(), APPROVED, LocalDateTime.now());
+                .findFirstByItemAndStatusAndStartBeforeOrderByStartDesc(item, APPROVED, now);
         if (lastBooking != null) {
             dto.setLastBooking(bookingMapper.entityToBookingShortDto(lastBooking));
         }
 
         var nextBooking = bookingRepository
-                .findFirstByItemIdAndStatusAndStartAfterOrderByStart(dto.getId(), APPROVED, LocalDateTime.now());
+                .findFirstByItemAndStatusAndStartAfterOrderByStart(item, APPROVED, now);
         if (nextBooking != null) {
             dto.setNextBooking(bookingMapper.entityToBookingShortDto(nextBooking));
+            return nextBooking.getStart();
         }
-
-        return dto;
+        return null;
     }
 
-
-    private User getUser(Long userId) {
-        return userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("user with id %d not found", userId));
+    private static Map<Long, BookingShortDto> byItemId(List<ItemBooking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(ItemBooking::getItemId, ItemBooking::getBooking, (first, second) -> first));
     }
 
     private Item getItem(Long id) {
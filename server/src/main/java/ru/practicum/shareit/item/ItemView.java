@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.ItemResponse;
+
+import java.time.LocalDateTime;
+
+/**
+ * A cached {@link ItemResponse} with the owner it was built for, the entity tag it is served with and, for the
+ * owner's variant, the start of the next booking, after which its last and next bookings are out of date.
+ */
+@Value
+public class ItemView {
+    Long ownerId;
+    ItemResponse item;
+    String tag;
+    LocalDateTime validUntil;
+
+    public boolean isValidAt(LocalDateTime time) {
+        return validUntil == null || time.isBefore(validUntil);
+    }
+}
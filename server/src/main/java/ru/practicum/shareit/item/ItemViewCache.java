@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.BookingChangedEvent;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.user.UserUpdatedEvent;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+import static ru.practicum.shareit.util.CacheConfig.ITEM_VIEWS;
+
+/**
+ * Item views for {@code GET /items/{id}}, one for everyone and one for the owner with the last and next
+ * bookings. Views are evicted after commit once the item is saved or commented, the owner's view once one of
+ * the item's bookings is created or approved. Views show comment authors by name, and deleting a user cascades in
+ * the database, so updating or deleting a user clears the cache.
+ * Loading goes through the cache, so an eviction racing with a load is not lost.
+ */
+@Component
+@RequiredArgsConstructor
+public class ItemViewCache {
+
+    private final CacheManager cacheManager;
+
+    public ItemView get(Long itemId, boolean owner, Supplier<ItemView> loader) {
+        var key = new Key(itemId, owner);
+        var cached = cache().get(key, ItemView.class);
+        if (cached != null && !cached.isValidAt(LocalDateTime.now())) {
+            cache().evict(key);
+        }
+        try {
+            return cache().get(key, loader::get);
+        } catch (Cache.ValueRetrievalException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    @TransactionalEventListener
+    public void onItemSaved(ItemSavedEvent event) {
+        evict(event.getId());
+    }
+
+    @TransactionalEventListener
+    public void onCommentAdded(CommentAddedEvent event) {
+        evict(event.getItemId());
+    }
+
+    @TransactionalEventListener
+    public void onBookingChanged(BookingChangedEvent event) {
+        cache().evict(new Key(event.getItemId(), true));
+    }
+
+    @TransactionalEventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        cache().clear();
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        cache().clear();
+    }
+
+    private void evict(Long itemId) {
+        cache().evict(new Key(itemId, false));
+        cache().evict(new Key(itemId, true));
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(ITEM_VIEWS);
+    }
+
+    @Value
+    private static class Key {
+        Long itemId;
+        boolean owner;
+    }
+}
@@ -21,4 +21,11 @@ public class ItemResponse {
     private List<CommentResponse> comments;
     private Long requestId;
 
+    public ItemResponse(Long id, String name, String description, Boolean available, Long requestId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = available;
+        this.requestId = requestId;
+    }
 }
@@ -0,0 +1,83 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Answers searches from a {@link TrigramIndex} without touching the database. The index is loaded when the
+ * application starts and kept up to date from committed item changes; deleting a user cascades to items in
+ * the database, so it triggers a full reload.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "shareit.search.engine", havingValue = "memory")
+public class InMemoryItemSearchEngine implements ItemSearchEngine {
+
+    private final ItemRepository itemRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private TrigramIndex index = new TrigramIndex();
+
+    @Override
+    public List<Item> search(String text, int from, int size) {
+        lock.readLock().lock();
+        try {
+            return index.search(text, from, size).stream()
+                    .map(IndexedItem::toItem)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @TransactionalEventListener
+    public void onItemSaved(ItemSavedEvent event) {
+        lock.writeLock().lock();
+        try {
+            index.put(IndexedItem.of(event));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onUserDeleted(UserDeletedEvent event) {
+        rebuild();
+    }
+
+    private void rebuild() {
+        lock.writeLock().lock();
+        try {
+            var rebuilt = new TrigramIndex();
+            itemRepository.findAll().forEach(item -> rebuilt.put(IndexedItem.of(item)));
+            index = rebuilt;
+            log.info("Item search index built, {} available items", rebuilt.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+}
@@ -0,0 +1,61 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.Getter;
+import ru.practicum.shareit.item.ItemSavedEvent;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+
+import java.util.Locale;
+
+import static java.lang.Boolean.TRUE;
+
+@Getter
+class IndexedItem {
+
+    private final long id;
+    private final String name;
+    private final String description;
+    private final boolean available;
+    private final Long requestId;
+    private final String lowerName;
+    private final String lowerDescription;
+
+    IndexedItem(long id, String name, String description, Boolean available, Long requestId) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.available = TRUE.equals(available);
+        this.requestId = requestId;
+        this.lowerName = toLowerCase(name);
+        this.lowerDescription = toLowerCase(description);
+    }
+
+    static IndexedItem of(Item item) {
+        return new IndexedItem(item.getId(), item.getName(), item.getDescription(), item.getAvailable(),
+                item.getRequest() == null ? null : item.getRequest().getId());
+    }
+
+    static IndexedItem of(ItemSavedEvent event) {
+        return new IndexedItem(event.getId(), event.getName(), event.getDescription(), event.getAvailable(),
+                event.getRequestId());
+    }
+
+    static String toLowerCase(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    Item toItem() {
+        var item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        if (requestId != null) {
+            var request = new ItemRequest();
+            request.setId(requestId);
+            item.setRequest(request);
+        }
+        return item;
+    }
+
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.search;
+
+import ru.practicum.shareit.item.model.Item;
+
+import java.util.List;
+
+/**
+ * Finds available items whose name or description contains the search text, case-insensitively.
+ * Name matches come first, then description-only matches; both groups are ordered by id.
+ */
+public interface ItemSearchEngine {
+
+    List<Item> search(String text, int from, int size);
+
+}
@@ -0,0 +1,118 @@
+package ru.practicum.shareit.item.search;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Inverted index from lower-cased trigrams of item names and descriptions to the ids of available items.
+ * Queries shorter than three characters scan every available item. Not thread-safe.
+ */
+class TrigramIndex {
+
+    private static final int GRAM = 3;
+
+    private final Map<Long, IndexedItem> items = new HashMap<>();
+    private final Map<String, LongPostings> postings = new HashMap<>();
+    private final LongPostings available = new LongPostings();
+
+    void put(IndexedItem item) {
+        remove(item.getId());
+        if (!item.isAvailable()) {
+            return;
+        }
+        items.put(item.getId(), item);
+        available.add(item.getId());
+        for (String trigram : trigrams(item)) {
+            postings.computeIfAbsent(trigram, key -> new LongPostings()).add(item.getId());
+        }
+    }
+
+    void remove(long id) {
+        var item = items.remove(id);
+        if (item == null) {
+            return;
+        }
+        available.remove(id);
+        for (String trigram : trigrams(item)) {
+            var ids = postings.get(trigram);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    int size() {
+        return items.size();
+    }
+
+    List<IndexedItem> search(String text, int from, int size) {
+        var query = IndexedItem.toLowerCase(text);
+        var lists = new ArrayList<LongPostings>();
+        if (query.length() < GRAM) {
+            lists.add(available);
+        } else {
+            for (String trigram : trigrams(query)) {
+                var ids = postings.get(trigram);
+                if (ids == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(ids);
+            }
+            lists.sort(Comparator.comparingInt(LongPostings::size));
+        }
+
+        var candidates = lists.get(0);
+        var end = (int) Math.min((long) from + size, Integer.MAX_VALUE);
+        var byName = new ArrayList<IndexedItem>();
+        var byDescription = new ArrayList<IndexedItem>();
+        for (int i = 0; i < candidates.size() && byName.size() < end; i++) {
+            long id = candidates.get(i);
+            if (!containedInAll(lists, id)) {
+                continue;
+            }
+            var item = items.get(id);
+            if (item.getLowerName().contains(query)) {
+                byName.add(item);
+            } else if (item.getLowerDescription().contains(query)) {
+                byDescription.add(item);
+            }
+        }
+
+        byName.addAll(byDescription);
+        if (from >= byName.size()) {
+            return Collections.emptyList();
+        }
+        return byName.subList(from, Math.min(byName.size(), end));
+    }
+
+    private static boolean containedInAll(List<LongPostings> lists, long id) {
+        for (int i = 1; i < lists.size(); i++) {
+            if (!lists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Set<String> trigrams(IndexedItem item) {
+        var result = trigrams(item.getLowerName());
+        result.addAll(trigrams(item.getLowerDescription()));
+        return result;
+    }
+
+    private static Set<String> trigrams(String value) {
+        var result = new HashSet<String>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            result.add(value.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+}
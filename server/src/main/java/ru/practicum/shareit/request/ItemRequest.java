@@ -1,6 +1,7 @@
 package ru.practicum.shareit.request;
 
 import lombok.*;
+import org.hibernate.annotations.Cache;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -8,17 +9,21 @@ import java.time.LocalDateTime;
 
 import static javax.persistence.CascadeType.ALL;
 import static javax.persistence.FetchType.LAZY;
-import static javax.persistence.GenerationType.IDENTITY;
+import static javax.persistence.GenerationType.SEQUENCE;
+import static org.hibernate.annotations.CacheConcurrencyStrategy.READ_WRITE;
 
 @NoArgsConstructor
 @Getter
 @Setter
 @ToString
 @Entity
+@Cacheable
+@Cache(usage = READ_WRITE, region = "item-request")
 @Table(name = "requests")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = IDENTITY)
+    @GeneratedValue(strategy = SEQUENCE, generator = "requests_seq")
+    @SequenceGenerator(name = "requests_seq", sequenceName = "requests_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
     @Column(name = "description")
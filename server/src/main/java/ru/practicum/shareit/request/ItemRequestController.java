@@ -5,12 +5,15 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.util.ResourceTags;
 
 import java.net.URI;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,6 +27,7 @@ public class ItemRequestController {
 
     private final RequestService requestService;
     private final ItemRequestMapper itemRequestMapper;
+    private final ResourceTags resourceTags;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
@@ -44,21 +48,21 @@ public class ItemRequestController {
     public ResponseEntity<List<ItemRequestResponse>> getAllRequestor(
             @RequestHeader(USER_HEADER) Long userId) {
         log.info("Get item requests by requestor id: {}, state: {} ",  userId);
-        var response = requestService.getAllRequestor(userId).stream()
-                .map(itemRequestMapper::entityToItemRequestResponse)
-                .peek(value ->
-                    value.setItems(requestService.itemsByItemRequestId(value.getId()))
-                )
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        var response = itemRequestMapper.entitiesToItemRequestResponses(requestService.getAllRequestor(userId));
+        return ResponseEntity.ok(withItems(response));
     }
 
     @GetMapping(path = "/{id}")
     public ResponseEntity<ItemRequestResponse> getById(
             @RequestHeader(USER_HEADER) Long userId,
-            @PathVariable("id") Long requestId) {
+            @PathVariable("id") Long requestId,
+            WebRequest request) {
         log.info("get item request user id {}; request id", userId, requestId);
+        var tag = resourceTags.get(ItemRequest.class, requestId);
         var response = requestService.getById(requestId, userId);
+        if (response.isPresent() && request.checkNotModified(tag)) {
+            return null;
+        }
         return response
                 .map(itemRequestMapper::entityToItemRequestResponse)
                 .map(value -> {
@@ -75,13 +79,16 @@ public class ItemRequestController {
             @RequestParam(defaultValue = "0") Integer from,
             @RequestParam(defaultValue = "10") Integer size) {
         log.info("get all item requests user id {}; ", userId);
-        var response = requestService.getAll(userId, from, size).stream()
-                .map(itemRequestMapper::entityToItemRequestResponse)
-                .peek(value ->
-                        value.setItems(requestService.itemsByItemRequestId(value.getId()))
-                )
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(response);
+        var response = itemRequestMapper.entitiesToItemRequestResponses(requestService.getAll(userId, from, size));
+        return ResponseEntity.ok(withItems(response));
+    }
+
+    private List<ItemRequestResponse> withItems(List<ItemRequestResponse> requests) {
+        var items = requestService.itemsByItemRequestIds(requests.stream()
+                .map(ItemRequestResponse::getId)
+                .collect(Collectors.toList()));
+        requests.forEach(value -> value.setItems(items.getOrDefault(value.getId(), Collections.emptyList())));
+        return requests;
     }
 
 }
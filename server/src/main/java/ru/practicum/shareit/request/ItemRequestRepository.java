@@ -2,14 +2,30 @@ package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import ru.practicum.shareit.user.User;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
+/**
+ * Requests are written once and listed often, so the listings go through the query cache, which Hibernate
+ * invalidates on every write to the requests table.
+ */
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<ItemRequest> findAllByRequestorOrderByCreatedAsc(User user);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<ItemRequest> findAllByRequestorNotOrderByCreatedAsc(User user, Pageable page);
 
+    @Query("SELECT r.id FROM ItemRequest r WHERE r.id IN :ids")
+    Set<Long> findIdsByIdIn(Collection<Long> ids);
+
 }
@@ -10,17 +10,19 @@ import ru.practicum.shareit.item.dto.ItemItemRequestResponse;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
-import ru.practicum.shareit.user.User;
-import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserLookup;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RequestService {
-    private final UserRepository userRepository;
+    private final UserLookup userLookup;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemRepository itemRepository;
     private final ItemRequestMapper itemRequestMapper;
@@ -29,29 +31,26 @@ public class RequestService {
     @Transactional
     public ItemRequest add(ItemRequestDto dto, Long userId) {
         var itemRequest = itemRequestMapper.dtoToEntity(dto);
-        userRepository.findById(userId).ifPresentOrElse(itemRequest::setRequestor,
-                () -> {
-                    throw new NotFoundException("user with id %d not found", userId);
-        });
+        itemRequest.setRequestor(userLookup.getReference(userId));
 
         return itemRequestRepository.save(itemRequest);
     }
 
     @Transactional(readOnly = true)
     public List<ItemRequest> getAllRequestor(Long userId) {
-        var user = getUser(userId);
+        var user = userLookup.getReference(userId);
         return itemRequestRepository.findAllByRequestorOrderByCreatedAsc(user);
     }
 
     @Transactional(readOnly = true)
     public Optional<ItemRequest> getById(Long requestId, Long userId) {
-        getUser(userId);
+        userLookup.checkExists(userId);
         return Optional.of(getItemRequest(requestId));
     }
 
     @Transactional(readOnly = true)
     public List<ItemRequest> getAll(Long userId, Integer from, Integer size) {
-        var user = getUser(userId);
+        var user = userLookup.getReference(userId);
         var page = PageRequest.of(from / size, size);
         return itemRequestRepository.findAllByRequestorNotOrderByCreatedAsc(user, page);
     }
@@ -70,9 +69,15 @@ public class RequestService {
                 .collect(Collectors.toList());
     }
 
-    private User getUser(Long id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new NotFoundException("user with id %d not found", id));
+    @Transactional(readOnly = true)
+    public Map<Long, List<ItemItemRequestResponse>> itemsByItemRequestIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        return itemRepository.findAllByRequestIdIn(ids)
+                .stream()
+                .map(itemMapper::entityToItemRequestResponse)
+                .collect(Collectors.groupingBy(ItemItemRequestResponse::getRequestId));
     }
 
 }
@@ -6,6 +6,8 @@ import ru.practicum.shareit.request.ItemRequest;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 
+import java.util.List;
+
 @Mapper(componentModel = "spring", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
 public interface ItemRequestMapper {
 
@@ -13,4 +15,6 @@ public interface ItemRequestMapper {
 
     ItemRequestResponse entityToItemRequestResponse(ItemRequest itemRequest);
 
+    List<ItemRequestResponse> entitiesToItemRequestResponses(List<ItemRequest> itemRequests);
+
 }
@@ -5,10 +5,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.util.ResourceTags;
 
 import java.net.URI;
 import java.util.List;
@@ -20,6 +22,7 @@ import java.util.List;
 public class UserController {
     private final UserService userService;
     private final UserMapper userMapper;
+    private final ResourceTags resourceTags;
 
     @GetMapping
     public ResponseEntity<List<UserResponse>> getAll() {
@@ -28,9 +31,13 @@ public class UserController {
     }
 
     @GetMapping(path = "/{id}")
-    public ResponseEntity<UserResponse> get(@PathVariable("id") Long id) {
+    public ResponseEntity<UserResponse> get(@PathVariable("id") Long id, WebRequest request) {
         log.info("Get user by id: {}", id);
+        var tag = resourceTags.get(User.class, id);
         var response = userService.findById(id);
+        if (response.isPresent() && request.checkNotModified(tag)) {
+            return null;
+        }
         return response.map(userMapper::entityToUserResponse)
                 .map(ResponseEntity::ok)
                 .orElseGet(() -> ResponseEntity.notFound().build());
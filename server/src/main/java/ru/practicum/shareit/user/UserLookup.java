@@ -0,0 +1,53 @@
+package ru.practicum.shareit.user;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.exception.NotFoundException;
+
+import static java.lang.Boolean.TRUE;
+import static ru.practicum.shareit.util.CacheConfig.USERS;
+
+/**
+ * Checks the user id every request carries. Ids of existing users are cached, unknown ids never are, so a
+ * freshly created user is found at once; services get a lazy reference instead of a loaded entity, so a
+ * cache hit costs no statement. Writes evict the id directly and, for a delete, once more after commit in
+ * case a concurrent lookup cached it in between.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserLookup {
+
+    private final UserRepository userRepository;
+    private final CacheManager cacheManager;
+
+    public User getReference(Long userId) {
+        checkExists(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    public void checkExists(Long userId) {
+        if (cache().get(userId) != null) {
+            return;
+        }
+        if (!userRepository.existsById(userId)) {
+            throw new NotFoundException("user with id %d not found", userId);
+        }
+        cache().put(userId, TRUE);
+    }
+
+    public void evict(Long userId) {
+        cache().evict(userId);
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        evict(event.getId());
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(USERS);
+    }
+}
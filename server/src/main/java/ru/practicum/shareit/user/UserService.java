@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +19,8 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final UserLookup userLookup;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<User> getAll() {
         return userRepository.findAll();
@@ -27,7 +30,7 @@ public class UserService {
     public User add(UserDto dto) {
         var user = userMapper.dtoToEntity(dto);
         try {
-            return userRepository.save(user);
+            return userRepository.saveAndFlush(user);
         } catch (DataIntegrityViolationException e) {
             throw new ClientErrorException("user with email %s already exists", dto.getEmail());
         }
@@ -36,12 +39,15 @@ public class UserService {
 
     @Transactional
     public Optional<User> update(UserDto dto, Long id) {
+        userLookup.evict(id);
         var optUser = userRepository.findById(id);
         optUser.ifPresent(value ->
             userMapper.updateEntity(value, dto)
         );
         try {
-            return Optional.of(userRepository.save(optUser.get()));
+            var savedUser = userRepository.save(optUser.get());
+            eventPublisher.publishEvent(new UserUpdatedEvent(id));
+            return Optional.of(savedUser);
         } catch (DataIntegrityViolationException e) {
             throw new ClientErrorException("user with email %s already exists", dto.getEmail());
         }
@@ -53,7 +59,9 @@ public class UserService {
 
     @Transactional
     public void deleteById(Long id) {
+        userLookup.evict(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UserDeletedEvent(id));
     }
 
 }
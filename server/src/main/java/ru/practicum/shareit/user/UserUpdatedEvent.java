@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class UserUpdatedEvent {
+    private Long id;
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.ItemSavedEvent;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserDeletedEvent;
+import ru.practicum.shareit.user.UserUpdatedEvent;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static ru.practicum.shareit.util.CacheConfig.RESOURCE_TAGS;
+
+/**
+ * Entity tags of resources that only change through events, so that a conditional GET is answered from memory.
+ * A resource gets a fresh tag the first time it is asked for and keeps it until an event after commit drops it:
+ * users on update, item requests once one of their items is saved. Deleting a user cascades in the database, so
+ * it drops every tag. Tags are unique to this process, since they start with its start time, and expire like
+ * the item views, which bounds how long a change made through another instance goes unseen here.
+ * <p>
+ * Read the tag before loading the resource: a change committed in between then leaves the response with the
+ * old tag, and the next request fetches it again, instead of the old state being stored under the new tag.
+ * Answer {@code 304} only once the resource is found and the caller may see it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResourceTags {
+
+    private static final String PREFIX = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX) + "-";
+
+    private final AtomicLong counter = new AtomicLong();
+    private final CacheManager cacheManager;
+
+    public String get(Class<?> type, Long id) {
+        return cache().get(new Key(type, id), this::next);
+    }
+
+    /**
+     * A tag never handed out before, for resources cached elsewhere that are tagged when built.
+     */
+    public String next() {
+        return PREFIX + Long.toString(counter.incrementAndGet(), Character.MAX_RADIX);
+    }
+
+    @TransactionalEventListener
+    public void onUserUpdated(UserUpdatedEvent event) {
+        cache().evict(new Key(User.class, event.getId()));
+    }
+
+    @TransactionalEventListener
+    public void onItemSaved(ItemSavedEvent event) {
+        if (event.getRequestId() != null) {
+            cache().evict(new Key(ItemRequest.class, event.getRequestId()));
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        cache().clear();
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(RESOURCE_TAGS);
+    }
+
+    @Value
+    private static class Key {
+        Class<?> type;
+        Long id;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.util;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.UserDeletedEvent;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Deleting a user cascades to their items and requests in the database, behind Hibernate's back, so their
+ * second-level regions and the cached queries are dropped once the deletion commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheEviction {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        var cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Item.class);
+        cache.evictEntityData(ItemRequest.class);
+        cache.evictQueryRegions();
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ClientErrorException;
+import ru.practicum.shareit.exception.NotFoundException;
+
+/**
+ * Times every public method of the services behind the REST API as {@code shareit.service}, tagged by service,
+ * method, the booking state it was asked for and the outcome; the timer count doubles as the call counter.
+ * It runs outside the transaction, so commit time is included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+
+    public static final String METRIC = "shareit.service";
+
+    private final MeterRegistry registry;
+
+    @Around("execution(public * ru.practicum.shareit.booking.BookingService.*(..))"
+            + " || execution(public * ru.practicum.shareit.item.ItemService.*(..))"
+            + " || execution(public * ru.practicum.shareit.request.RequestService.*(..))"
+            + " || execution(public * ru.practicum.shareit.user.UserService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        var sample = Timer.start(registry);
+        var outcome = "SUCCESS";
+        try {
+            return joinPoint.proceed();
+        } catch (NotFoundException | BadRequestException | ClientErrorException e) {
+            outcome = "CLIENT_ERROR";
+            throw e;
+        } catch (Throwable e) {
+            outcome = "SERVER_ERROR";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC)
+                    .tag("service", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("state", stateOf(joinPoint.getArgs()))
+                    .tag("outcome", outcome)
+                    .register(registry));
+        }
+    }
+
+    private static String stateOf(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof BookingState) {
+                return ((BookingState) arg).name();
+            }
+        }
+        return "none";
+    }
+}
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.util.batch;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Rows written per transaction by batch requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.batch")
+public class BatchProperties {
+    private int chunkSize = 500;
+}
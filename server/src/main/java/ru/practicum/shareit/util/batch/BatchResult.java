@@ -0,0 +1,28 @@
+package ru.practicum.shareit.util.batch;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Outcome of one row of a batch request: the HTTP status the row would have got on its own, with either the
+ * created resource or the error.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchResult<T> {
+    private int index;
+    private int status;
+    private T result;
+    private String error;
+
+    public static <T> BatchResult<T> created(int index, T result) {
+        return new BatchResult<>(index, HttpStatus.CREATED.value(), result, null);
+    }
+
+    public static <T> BatchResult<T> failed(int index, HttpStatus status, String error) {
+        return new BatchResult<>(index, status.value(), null, error);
+    }
+}
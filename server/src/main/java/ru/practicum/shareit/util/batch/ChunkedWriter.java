@@ -0,0 +1,74 @@
+package ru.practicum.shareit.util.batch;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Writes the accepted rows of a batch request in chunks of {@code shareit.batch.chunk-size}, each chunk in its own
+ * transaction, so a large import neither holds one long transaction nor loses other chunks when one fails. A
+ * failing chunk is rolled back as a whole and all its rows report the failure with a fixed message; the cause,
+ * which may carry SQL and constraint names, is only logged.
+ */
+@Slf4j
+@Component
+@EnableConfigurationProperties(BatchProperties.class)
+public class ChunkedWriter {
+
+    static final String CONFLICT_MESSAGE = "conflicts with existing data";
+    static final String ERROR_MESSAGE = "internal error";
+
+    private final TransactionTemplate transaction;
+    private final BatchProperties properties;
+
+    public ChunkedWriter(PlatformTransactionManager transactionManager, BatchProperties properties) {
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.properties = properties;
+    }
+
+    public static <T> List<BatchResult<T>> results(int size) {
+        return new ArrayList<>(Collections.nCopies(size, null));
+    }
+
+    /**
+     * Writes the rows whose result is still {@code null} and fills in their results. {@code writeChunk} runs
+     * inside the chunk's transaction and returns the created resources in the order of its rows.
+     */
+    public <T, R> List<BatchResult<R>> write(List<T> rows, List<BatchResult<R>> results,
+                                             Function<List<T>, List<R>> writeChunk) {
+        var pending = IntStream.range(0, rows.size())
+                .filter(index -> results.get(index) == null)
+                .boxed()
+                .collect(Collectors.toList());
+        for (int from = 0; from < pending.size(); from += properties.getChunkSize()) {
+            var indexes = pending.subList(from, Math.min(from + properties.getChunkSize(), pending.size()));
+            var chunk = indexes.stream()
+                    .map(rows::get)
+                    .collect(Collectors.toList());
+            try {
+                var written = transaction.execute(status -> writeChunk.apply(chunk));
+                for (int i = 0; i < indexes.size(); i++) {
+                    results.set(indexes.get(i), BatchResult.created(indexes.get(i), written.get(i)));
+                }
+            } catch (RuntimeException e) {
+                log.warn("Batch chunk of {} rows failed", indexes.size(), e);
+                var conflict = e instanceof DataIntegrityViolationException;
+                var status = conflict ? HttpStatus.CONFLICT : HttpStatus.INTERNAL_SERVER_ERROR;
+                var message = conflict ? CONFLICT_MESSAGE : ERROR_MESSAGE;
+                indexes.forEach(index -> results.set(index, BatchResult.failed(index, status, message)));
+            }
+        }
+        return results;
+    }
+}
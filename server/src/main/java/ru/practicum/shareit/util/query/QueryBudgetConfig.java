@@ -0,0 +1,47 @@
+package ru.practicum.shareit.util.query;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Wires the query counting listeners into Hibernate and the budget check into every request. Statements slower
+ * than {@code shareit.query-budget.slow-statement} are also logged by Hibernate with their SQL.
+ */
+@Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties(QueryBudgetProperties.class)
+public class QueryBudgetConfig implements WebMvcConfigurer {
+
+    private final QueryBudgetProperties budget;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @Bean
+    public HibernatePropertiesCustomizer queryCountingCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER,
+                    QueryCountingSessionListener.class.getName());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> List.of(new QueryCountingIntegrator()));
+            properties.put(AvailableSettings.LOG_SLOW_QUERY, budget.getSlowStatement().toMillis());
+        };
+    }
+
+    /**
+     * Web slice tests have neither a database nor a meter registry, so the interceptor is left out there.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        meterRegistry.ifAvailable(meters -> registry.addInterceptor(new QueryBudgetInterceptor(budget, meters)));
+    }
+}
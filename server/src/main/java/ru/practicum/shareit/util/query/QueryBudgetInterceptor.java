@@ -0,0 +1,68 @@
+package ru.practicum.shareit.util.query;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the statements of every request, publishes them per endpoint and warns when a request goes over
+ * the {@link QueryBudgetProperties budget}. The final count is left in the {@link #ATTRIBUTE} request
+ * attribute for tests.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class QueryBudgetInterceptor implements HandlerInterceptor {
+
+    public static final String ATTRIBUTE = QueryCount.class.getName();
+
+    private final QueryBudgetProperties budget;
+    private final MeterRegistry registry;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        QueryCounter.start(budget.getSlowStatement());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        var count = QueryCounter.stop();
+        if (count == null) {
+            return;
+        }
+        request.setAttribute(ATTRIBUTE, count);
+
+        var uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        var tags = Tags.of("method", request.getMethod(), "uri", uri == null ? "UNKNOWN" : uri.toString());
+        DistributionSummary.builder("shareit.db.statements")
+                .tags(tags)
+                .register(registry)
+                .record(count.getStatements());
+        Timer.builder("shareit.db.time")
+                .tags(tags)
+                .register(registry)
+                .record(count.getStatementNanos(), TimeUnit.NANOSECONDS);
+        var slow = Timer.builder("shareit.db.slow")
+                .tags(tags)
+                .register(registry);
+        count.getSlowStatements().forEach(nanos -> slow.record(nanos, TimeUnit.NANOSECONDS));
+
+        if (count.getStatements() > budget.getStatements()
+                || count.getEntityLoads() > budget.getEntityLoads()
+                || count.getCollectionFetches() > budget.getCollectionFetches()) {
+            log.warn("{} {} is over the query budget: {} statements, {} entity loads, {} collection fetches",
+                    request.getMethod(), uri, count.getStatements(), count.getEntityLoads(),
+                    count.getCollectionFetches());
+        }
+    }
+}
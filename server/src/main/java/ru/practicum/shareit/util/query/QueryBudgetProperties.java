@@ -0,0 +1,18 @@
+package ru.practicum.shareit.util.query;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Per-request limits above which a request is logged as a likely N+1.
+ */
+@Data
+@ConfigurationProperties(prefix = "shareit.query-budget")
+public class QueryBudgetProperties {
+    private int statements = 10;
+    private int entityLoads = 100;
+    private int collectionFetches = 10;
+    private Duration slowStatement = Duration.ofMillis(200);
+}
@@ -0,0 +1,43 @@
+package ru.practicum.shareit.util.query;
+
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Statements, entity loads and collection fetches counted on one thread between {@link QueryCounter#start}
+ * and {@link QueryCounter#stop}, with the execution times of statements slower than the threshold.
+ */
+@Getter
+@ToString
+public class QueryCount {
+
+    private final long slowStatementNanos;
+    private int statements;
+    private int entityLoads;
+    private int collectionFetches;
+    private long statementNanos;
+    private final List<Long> slowStatements = new ArrayList<>();
+
+    QueryCount(long slowStatementNanos) {
+        this.slowStatementNanos = slowStatementNanos;
+    }
+
+    void statementExecuted(long nanos) {
+        statements++;
+        statementNanos += nanos;
+        if (nanos > slowStatementNanos) {
+            slowStatements.add(nanos);
+        }
+    }
+
+    void entityLoaded() {
+        entityLoads++;
+    }
+
+    void collectionFetched() {
+        collectionFetches++;
+    }
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.util.query;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Holds the {@link QueryCount} of the current thread. Hibernate listeners only count while one is started,
+ * so work outside HTTP requests (startup, event listeners on other threads) costs nothing.
+ */
+public final class QueryCounter {
+
+    private static final ThreadLocal<QueryCount> CURRENT = new ThreadLocal<>();
+
+    private QueryCounter() {
+    }
+
+    public static QueryCount start(Duration slowStatement) {
+        var count = new QueryCount(slowStatement.toNanos());
+        CURRENT.set(count);
+        return count;
+    }
+
+    public static QueryCount stop() {
+        var count = CURRENT.get();
+        CURRENT.remove();
+        return count;
+    }
+
+    static void record(Consumer<QueryCount> event) {
+        var count = CURRENT.get();
+        if (count != null) {
+            event.accept(count);
+        }
+    }
+}
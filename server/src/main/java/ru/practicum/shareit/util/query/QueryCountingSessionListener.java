@@ -0,0 +1,37 @@
+package ru.practicum.shareit.util.query;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Created by Hibernate for every session ({@code hibernate.session.events.auto}); times JDBC executions and
+ * batches on the session's thread.
+ */
+public class QueryCountingSessionListener extends BaseSessionEventListener {
+
+    private long startedAt;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        startedAt = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        var nanos = System.nanoTime() - startedAt;
+        QueryCounter.record(count -> count.statementExecuted(nanos));
+    }
+}
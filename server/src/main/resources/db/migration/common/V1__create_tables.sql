@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, items, bookings, comments, requests;
-
 CREATE TABLE IF NOT EXISTS users(
     id bigint generated BY DEFAULT AS IDENTITY PRIMARY KEY,
     email varchar(255) NOT NULL,
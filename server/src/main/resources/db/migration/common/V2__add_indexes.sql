@@ -0,0 +1,11 @@
+CREATE INDEX IF NOT EXISTS items_owner_idx ON items (user_id, id);
+CREATE INDEX IF NOT EXISTS items_request_idx ON items (request_id);
+
+CREATE INDEX IF NOT EXISTS requests_requestor_created_idx ON requests (user_id, created);
+CREATE INDEX IF NOT EXISTS requests_created_idx ON requests (created);
+
+CREATE INDEX IF NOT EXISTS bookings_booker_start_idx ON bookings (user_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_start_idx ON bookings (item_id, start_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS bookings_item_status_start_idx ON bookings (item_id, status, start_date);
+
+CREATE INDEX IF NOT EXISTS comments_item_idx ON comments (item_id, id);
@@ -0,0 +1,6 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS items_name_trgm_idx ON items
+    USING gin (LOWER(name) gin_trgm_ops) WHERE is_available = true;
+CREATE INDEX IF NOT EXISTS items_description_trgm_idx ON items
+    USING gin (LOWER(description) gin_trgm_ops) WHERE is_available = true;
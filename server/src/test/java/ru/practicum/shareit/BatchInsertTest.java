@@ -0,0 +1,72 @@
+package ru.practicum.shareit;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.query.QueryCounter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class BatchInsertTest {
+
+    private static final int ROWS = 120;
+    private static final int BATCHES = 3;
+    /**
+     * One per block of 50 ids, one more when a block starts mid-way, plus the extra call the pooled optimizer
+     * makes on the very first use of a sequence.
+     */
+    private static final int SEQUENCE_CALLS = 4;
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    public void cleanUpEach() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Пакетная вставка вещей идёт блоками по 50 строк с идентификаторами из последовательности")
+    @Test
+    void shouldInsertInBatches() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+
+        QueryCounter.start(Duration.ofSeconds(1));
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            val items = new ArrayList<Item>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                val item = new Item();
+                item.setName("Отвёртка");
+                item.setDescription("Крестовая №" + i);
+                item.setAvailable(true);
+                item.setOwner(userRepository.getReferenceById(owner.getId()));
+                items.add(item);
+            }
+            itemRepository.saveAll(items);
+        });
+        val count = QueryCounter.stop();
+
+        assertEquals(ROWS, itemRepository.findAllByOwnerIdOrderById(owner.getId()).size());
+        assertTrue(count.getStatements() <= BATCHES + SEQUENCE_CALLS, count.toString());
+    }
+}
@@ -0,0 +1,144 @@
+package ru.practicum.shareit;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.RequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.time.LocalDateTime;
+
+import static java.lang.Boolean.TRUE;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.Constants.USER_HEADER;
+import static ru.practicum.shareit.util.query.QueryBudget.collectionFetches;
+import static ru.practicum.shareit.util.query.QueryBudget.entityLoads;
+import static ru.practicum.shareit.util.query.QueryBudget.statements;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class EndpointQueryBudgetTest {
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private RequestService requestService;
+
+    private Long ownerId;
+    private Long bookerId;
+    private Long itemId;
+    private Long bookingId;
+    private Long requestId;
+
+    @BeforeEach
+    public void setUp() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val booker = userService.add(new UserDto("Petr", "petr@yandex.ru"));
+        val request = requestService.add(new ItemRequestDto("Нужна отвёртка"), booker.getId());
+        val item = itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, request.getId()), owner.getId());
+        val now = LocalDateTime.now();
+        val past = bookingService.add(new BookingDto(now.minusDays(2), now.minusDays(1), item.getId()),
+                booker.getId());
+        bookingService.approve(past.getId(), owner.getId(), TRUE);
+        val next = bookingService.add(new BookingDto(now.plusDays(1), now.plusDays(2), item.getId()),
+                booker.getId());
+        bookingService.approve(next.getId(), owner.getId(), TRUE);
+        itemService.addComment(new CommentDto("Отличная", null, null), item.getId(), booker.getId());
+
+        ownerId = owner.getId();
+        bookerId = booker.getId();
+        itemId = item.getId();
+        bookingId = past.getId();
+        requestId = request.getId();
+    }
+
+    @AfterEach
+    public void cleanUpEach() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Запросы пользователей укладываются в бюджет запросов к базе")
+    @Test
+    void shouldKeepUserEndpointsWithinBudget() throws Exception {
+        mvc.perform(get("/users"))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+        mvc.perform(get("/users/{id}", ownerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+    }
+
+    @DisplayName("Запросы вещей укладываются в бюджет запросов к базе")
+    @Test
+    void shouldKeepItemEndpointsWithinBudget() throws Exception {
+        mvc.perform(get("/items").header(USER_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(4))
+                .andExpect(entityLoads(0));
+        mvc.perform(get("/items/{id}", itemId).header(USER_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(4))
+                .andExpect(entityLoads(3))
+                .andExpect(collectionFetches(0));
+        mvc.perform(get("/items/{id}", itemId).header(USER_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(0));
+        mvc.perform(get("/items/search").param("text", "отв").header(USER_HEADER, bookerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(1));
+    }
+
+    @DisplayName("Запросы бронирований укладываются в бюджет запросов к базе")
+    @Test
+    void shouldKeepBookingEndpointsWithinBudget() throws Exception {
+        mvc.perform(get("/bookings/owner").header(USER_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(0));
+        mvc.perform(get("/bookings").header(USER_HEADER, bookerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(1))
+                .andExpect(entityLoads(0));
+        mvc.perform(get("/bookings/{id}", bookingId).header(USER_HEADER, bookerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(3))
+                .andExpect(entityLoads(3));
+    }
+
+    @DisplayName("Запросы на вещи укладываются в бюджет запросов к базе")
+    @Test
+    void shouldKeepRequestEndpointsWithinBudget() throws Exception {
+        mvc.perform(get("/requests").header(USER_HEADER, bookerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+        mvc.perform(get("/requests/all").header(USER_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+        mvc.perform(get("/requests/{id}", requestId).header(USER_HEADER, ownerId))
+                .andExpect(status().isOk())
+                .andExpect(statements(2));
+    }
+}
@@ -0,0 +1,154 @@
+package ru.practicum.shareit;
+
+import lombok.val;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.BookingCursor;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.RequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static java.lang.Boolean.TRUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "ru.practicum.shareit.QueryPlanTest$SqlCaptor")
+class QueryPlanTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private RequestService requestService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    public void cleanUpEach() {
+        userRepository.deleteAll();
+        SqlCaptor.STATEMENTS.clear();
+    }
+
+    @DisplayName("Ни один запрос репозиториев не читает таблицу целиком")
+    @Test
+    void shouldUseIndexForEveryRepositoryQuery() {
+        runEveryRepositoryQuery();
+
+        val filtered = SqlCaptor.STATEMENTS.stream()
+                .filter(QueryPlanTest::isFilteredSelect)
+                .collect(Collectors.toList());
+        assertFalse(filtered.isEmpty());
+
+        Map<String, String> scans = new LinkedHashMap<>();
+        filtered.forEach(sql -> {
+            val plan = explain(sql);
+            if (plan.contains(".tableScan")) {
+                scans.put(sql, plan);
+            }
+        });
+        assertEquals(Map.of(), scans);
+    }
+
+    private void runEveryRepositoryQuery() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val booker = userService.add(new UserDto("Petr", "petr@yandex.ru"));
+        val request = requestService.add(new ItemRequestDto("Нужна отвёртка"), booker.getId());
+        val item = itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, request.getId()), owner.getId());
+
+        val now = LocalDateTime.now();
+        val past = bookingService.add(new BookingDto(now.minusDays(2), now.minusDays(1), item.getId()),
+                booker.getId());
+        bookingService.approve(past.getId(), owner.getId(), TRUE);
+        val next = bookingService.add(new BookingDto(now.plusDays(1), now.plusDays(2), item.getId()),
+                booker.getId());
+        bookingService.approve(next.getId(), owner.getId(), TRUE);
+        itemService.addComment(new CommentDto("Отличная", null, null), item.getId(), booker.getId());
+
+        for (var state : List.of(BookingState.ALL, BookingState.CURRENT, BookingState.PAST, BookingState.FUTURE,
+                BookingState.WAITING, BookingState.REJECTED)) {
+            bookingService.getAllOwner(owner.getId(), state, 0, 10);
+            bookingService.getAllBooker(booker.getId(), state, 0, 10);
+            bookingService.getAllOwner(owner.getId(), state, (BookingCursor) null, 10);
+            bookingService.getAllBooker(booker.getId(), state, (BookingCursor) null, 10);
+            bookingService.exportOwner(owner.getId(), state, booking -> { });
+        }
+        bookingService.getById(past.getId(), booker.getId());
+        bookingService.addAll(List.of(new BookingDto(now.plusDays(3), now.plusDays(4), item.getId())),
+                booker.getId());
+
+        itemService.getAllResponsesByUserId(owner.getId());
+        itemService.findCommentsByItemId(item.getId());
+        itemService.getView(item.getId(), owner.getId());
+        itemService.searchItems("отв", 0, 10);
+
+        requestService.getAllRequestor(booker.getId());
+        requestService.getAll(owner.getId(), 0, 10);
+        requestService.itemsByItemRequestId(request.getId());
+        requestService.itemsByItemRequestIds(List.of(request.getId()));
+        itemService.addAll(List.of(new ItemDto("Дрель", "Ударная", TRUE, request.getId())), owner.getId());
+        userRepository.findByEmail(owner.getEmail());
+    }
+
+    /**
+     * Plain listings without a predicate read the whole table by design, and so does "everyone else's requests"
+     * (an inequality on the requestor), which walks requests_created_idx up to the page size. The item search is
+     * a substring match that H2 cannot serve from a b-tree; on PostgreSQL it is backed by the trigram indexes.
+     */
+    private static boolean isFilteredSelect(String sql) {
+        val lower = sql.toLowerCase();
+        return lower.startsWith("select") && lower.contains(" where ")
+                && !lower.contains("<>") && !lower.contains(" like ");
+    }
+
+    private String explain(String sql) {
+        return jdbcTemplate.execute("EXPLAIN " + sql, (PreparedStatement statement) -> {
+            val parameters = statement.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= parameters; i++) {
+                statement.setObject(i, null);
+            }
+            try (var resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+
+    public static class SqlCaptor implements StatementInspector {
+
+        static final Set<String> STATEMENTS = ConcurrentHashMap.newKeySet();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit;
+
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.RequestService;
+import ru.practicum.shareit.request.dto.ItemRequestDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static java.lang.Boolean.TRUE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class SecondLevelCacheTest {
+
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private RequestService requestService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    public void cleanUpEach() {
+        userRepository.deleteAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @DisplayName("Пользователь читается из кеша второго уровня и обновляется через сервис")
+    @Test
+    void shouldReadUserFromCacheAndSeeUpdate() {
+        val user = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        userService.findById(user.getId());
+        statistics.clear();
+
+        assertEquals("Ivan", userService.findById(user.getId()).get().getName());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getDomainDataRegionStatistics("user").getHitCount());
+
+        userService.update(new UserDto("Petr", null), user.getId());
+        assertEquals("Petr", userService.findById(user.getId()).get().getName());
+    }
+
+    @DisplayName("Вещь и её владелец читаются из кеша второго уровня, изменение вещи видно сразу")
+    @Test
+    void shouldReadItemWithOwnerFromCacheAndSeeUpdate() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val item = itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, null), owner.getId());
+        val transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        transaction.execute(status -> itemRepository.findById(item.getId()).get().getOwner().getName());
+        statistics.clear();
+
+        val ownerName = transaction.execute(status ->
+                itemRepository.findById(item.getId()).get().getOwner().getName());
+        assertEquals("Ivan", ownerName);
+        assertEquals(0, statistics.getPrepareStatementCount());
+
+        itemService.update(new ItemDto("Шуруповёрт", null, null, null), item.getId(), owner.getId());
+        assertEquals("Шуруповёрт", itemService.findById(item.getId()).get().getName());
+    }
+
+    @DisplayName("Удаление пользователя убирает из кеша его вещи и запросы")
+    @Test
+    void shouldEvictCascadedEntitiesOnUserDelete() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val requestor = userService.add(new UserDto("Petr", "petr@yandex.ru"));
+        val other = userService.add(new UserDto("Anna", "anna@yandex.ru"));
+        val item = itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, null), owner.getId());
+        requestService.add(new ItemRequestDto("Нужна отвёртка"), requestor.getId());
+        itemRepository.findById(item.getId());
+        assertEquals(1, requestService.getAll(other.getId(), 0, 10).size());
+
+        userService.deleteById(owner.getId());
+        userService.deleteById(requestor.getId());
+
+        assertTrue(itemRepository.findById(item.getId()).isEmpty());
+        assertTrue(requestService.getAll(other.getId(), 0, 10).isEmpty());
+    }
+
+    @DisplayName("Новый запрос сразу виден в закешированном списке запросов")
+    @Test
+    void shouldInvalidateCachedRequestListing() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val requestor = userService.add(new UserDto("Petr", "petr@yandex.ru"));
+        requestService.add(new ItemRequestDto("Нужна отвёртка"), requestor.getId());
+        assertEquals(1, requestService.getAll(owner.getId(), 0, 10).size());
+        statistics.clear();
+        assertEquals(1, requestService.getAll(owner.getId(), 0, 10).size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+
+        requestService.add(new ItemRequestDto("Нужен молоток"), requestor.getId());
+        assertEquals(2, requestService.getAll(owner.getId(), 0, 10).size());
+    }
+}
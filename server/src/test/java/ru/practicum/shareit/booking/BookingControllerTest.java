@@ -1,6 +1,8 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,26 +15,37 @@ import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.mapper.BookingMapperImpl;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemBookerResponse;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dto.UserBookerResponse;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.WireFormatConfig;
+import ru.practicum.shareit.util.batch.BatchResult;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import static java.lang.Boolean.TRUE;
 import static org.mockito.ArgumentMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.http.HttpStatus.CONFLICT;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static ru.practicum.shareit.booking.BookingStatus.APPROVED;
 import static ru.practicum.shareit.util.Constants.USER_HEADER;
 
-@WebMvcTest({BookingController.class, BookingMapperImpl.class})
+@WebMvcTest({BookingController.class, BookingMapperImpl.class, BookingExporter.class, WireFormatConfig.class})
 class BookingControllerTest {
 
     @Autowired
@@ -44,9 +57,11 @@ class BookingControllerTest {
     @Autowired
     private BookingMapper bookingMapper;
 
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
     private static final String END_POINT_PATH = "/bookings";
     private static final String END_POINT_PATH_WITH_ID = END_POINT_PATH + "/{id}";
     private static final String END_POINT_PATH_OWNER = END_POINT_PATH + "/owner";
+    private static final String END_POINT_PATH_EXPORT = END_POINT_PATH_OWNER + "/export";
     private static final String APPROVED_PARAM = "approved";
     private static final String STATE_PARAM = "state";
 
@@ -68,6 +83,24 @@ class BookingControllerTest {
                 .andExpect(content().json(objectMapper.writeValueAsString(response)));
     }
 
+    @Test
+    @DisplayName("Ручка пакетного создания бронирований возвращает 200 и результат по каждой строке")
+    void shouldCreateBookingsInBatch() throws Exception {
+        BookingDto dto = getDto();
+        User user = getUser();
+        var results = List.of(BatchResult.created(0, getBookingResponse()),
+                BatchResult.<BookingResponse>failed(1, CONFLICT, "item with id 1 is already booked for this period"));
+
+        given(bookingService.addAll(List.of(dto, dto), user.getId())).willReturn(results);
+
+        mvc.perform(post(END_POINT_PATH + "/batch")
+                        .header(USER_HEADER, user.getId())
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(dto, dto))))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(results)));
+    }
+
     @Test
     @DisplayName("Ручка подтверждения по валидному запросу возвращает 200 и json c id новым бронированием")
     void shouldApproveBooking() throws Exception {
@@ -88,26 +121,48 @@ class BookingControllerTest {
     @Test
     @DisplayName("Ручка получения всех бронирований собственника, возвращает 200")
     void shouldGetAllByOwner() throws Exception {
-        Booking booking = getBooking();
         BookingResponse response = getBookingResponse();
         User user = getUser();
 
         when(bookingService.getAllOwner(anyLong(), eq(BookingState.ALL), anyInt(), anyInt()))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(response));
         mvc.perform(get(END_POINT_PATH_OWNER)
                         .header(USER_HEADER, user.getId()))
                 .andExpect(status().isOk())
                 .andExpect(content().json(objectMapper.writeValueAsString(List.of(response))));
     }
 
+    @Test
+    @DisplayName("Ручка получения бронирований собственника отдаёт Smile, если его просят, и json по умолчанию")
+    void shouldNegotiateSmile() throws Exception {
+        BookingResponse response = getBookingResponse();
+        when(bookingService.getAllOwner(anyLong(), eq(BookingState.ALL), anyInt(), anyInt()))
+                .thenReturn(List.of(response));
+
+        var smile = mvc.perform(get(END_POINT_PATH_OWNER)
+                        .header(USER_HEADER, 1L)
+                        .accept(SMILE, APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(SMILE))
+                .andReturn().getResponse().getContentAsByteArray();
+        var json = mvc.perform(get(END_POINT_PATH_OWNER)
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(APPLICATION_JSON))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        var smileMapper = new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+        assertEquals(List.of(response), smileMapper.readValue(smile, new TypeReference<List<BookingResponse>>() { }));
+        assertTrue(smile.length < json.length);
+    }
+
     @Test
     @DisplayName("Ручка получения всех бронирований бронировавшего, возвращает 200")
     void shouldGetAllByBooker() throws Exception {
-        Booking booking = getBooking();
         BookingResponse response = getBookingResponse();
 
         when(bookingService.getAllBooker(anyLong(), eq(BookingState.ALL), anyInt(), anyInt()))
-                .thenReturn(List.of(booking));
+                .thenReturn(List.of(response));
         mvc.perform(get(END_POINT_PATH)
                         .header(USER_HEADER, 2L))
                 .andExpect(status().isOk())
@@ -166,6 +221,68 @@ class BookingControllerTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    @DisplayName("Ручка выгрузки бронирований владельца отдаёт по строке json на бронирование")
+    void shouldExportOwnerBookingsAsNdjson() throws Exception {
+        BookingResponse response = getBookingResponse();
+        User user = getUser();
+        exportWillReturn(response, response);
+
+        var body = mvc.perform(get(END_POINT_PATH_EXPORT)
+                        .header(USER_HEADER, user.getId()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+                .andReturn().getResponse().getContentAsString();
+
+        var lines = body.split("\n");
+        assertEquals(2, lines.length);
+        for (String line : lines) {
+            assertEquals(response, objectMapper.readValue(line, BookingResponse.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Ручка выгрузки бронирований владельца в csv экранирует текстовые поля")
+    void shouldExportOwnerBookingsAsCsv() throws Exception {
+        BookingResponse response = getBookingResponse();
+        response.getItem().setName("Screwdriver, \"Phillips\"");
+        exportWillReturn(response);
+
+        mvc.perform(get(END_POINT_PATH_EXPORT)
+                        .param("format", "csv")
+                        .param(STATE_PARAM, "past")
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith("text/csv"))
+                .andExpect(content().string("id,start,end,status,item_id,item_name,booker_id,booker_name\n"
+                        + "1,2024-06-23T10:00,2024-06-24T10:00,APPROVED,1,\"Screwdriver, \"\"Phillips\"\"\",1,Ivan\n"));
+        verify(bookingService).exportOwner(eq(1L), eq(BookingState.PAST), any());
+    }
+
+    @Test
+    @DisplayName("Ручка выгрузки отвечает ошибкой до начала потока")
+    void shouldNotExportOwnerBookings() throws Exception {
+        mvc.perform(get(END_POINT_PATH_EXPORT)
+                        .param("format", "xml")
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().isBadRequest());
+
+        willThrow(new NotFoundException("user with id %d not found", 1L))
+                .given(bookingService).exportOwner(anyLong(), any(), any());
+        mvc.perform(get(END_POINT_PATH_EXPORT)
+                        .header(USER_HEADER, 1L))
+                .andExpect(status().isNotFound())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_JSON));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void exportWillReturn(BookingResponse... bookings) {
+        willAnswer(invocation -> {
+            Stream.of(bookings).forEach(invocation.<Consumer<BookingResponse>>getArgument(2));
+            return null;
+        }).given(bookingService).exportOwner(anyLong(), any(), any(Consumer.class));
+    }
+
     private static BookingDto getDto() {
         BookingDto dto = new BookingDto();
         dto.setStart(LocalDateTime.of(2024, 06, 23, 10, 0));
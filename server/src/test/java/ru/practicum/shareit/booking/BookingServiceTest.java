@@ -1,13 +1,16 @@
 package ru.practicum.shareit.booking;
 
 import lombok.val;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.ClientErrorException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.item.ItemService;
@@ -15,8 +18,17 @@ import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.batch.BatchResult;
 
+import javax.persistence.EntityManagerFactory;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
@@ -38,6 +50,8 @@ class BookingServiceTest {
     private ItemRepository itemRepository;
     @Autowired
     private ItemService itemService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
 
     private static final String USER_NAME = "Ivan";
     private static final String USER_EMAIL = "ivan@yandex.ru";
@@ -240,6 +254,251 @@ class BookingServiceTest {
 
     }
 
+    @DisplayName("Любой список бронирований читается одним запросом")
+    @Test
+    void shouldGetBookingsWithOneStatement() {
+        val owner = userService.add(getUserDto());
+        val firstItem = itemService.add(getItemDto(), owner.getId());
+        val secondItem = itemService.add(getItemDto(), owner.getId());
+        val bookers = new ArrayList<Long>();
+        for (int i = 0; i < 3; i++) {
+            bookers.add(userService.add(new UserDto(USER_NAME, "booker" + i + "@yandex.ru")).getId());
+        }
+        val now = LocalDateTime.now();
+        for (int i = 0; i < bookers.size(); i++) {
+            underTest.add(new BookingDto(now.minusDays(i + 2), now.minusDays(i + 1), firstItem.getId()),
+                    bookers.get(i));
+            underTest.add(new BookingDto(now.plusDays(i + 1), now.plusDays(i + 2), secondItem.getId()),
+                    bookers.get(i));
+        }
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        for (var state : List.of(ALL, CURRENT, PAST, FUTURE, WAITING, REJECTED)) {
+            for (var listing : List.<Supplier<List<BookingResponse>>>of(
+                    () -> underTest.getAllOwner(owner.getId(), state, 0, 10),
+                    () -> underTest.getAllBooker(bookers.get(0), state, 0, 10),
+                    () -> underTest.getAllOwner(owner.getId(), state, (BookingCursor) null, 10),
+                    () -> underTest.getAllBooker(bookers.get(0), state, (BookingCursor) null, 10))) {
+                statistics.clear();
+                val bookings = listing.get();
+                bookings.forEach(response -> assertNotNull(response.getItem().getName()));
+                assertEquals(1, statistics.getPrepareStatementCount(), state.name());
+            }
+        }
+        assertEquals(6, underTest.getAllOwner(owner.getId(), ALL, 0, 10).size());
+        assertEquals(3, underTest.getAllOwner(owner.getId(), PAST, 0, 10).size());
+        assertEquals(2, underTest.getAllOwner(owner.getId(), ALL, 4, 2).size());
+    }
+
+    @DisplayName("Пересекающееся бронирование отклоняется при создании и подтверждении")
+    @Test
+    void shouldRejectOverlappingBooking() {
+        val owner = userService.add(getUserDto());
+        val item = itemService.add(getItemDto(), owner.getId());
+        var userDto = getUserDto();
+        userDto.setEmail("booker@yandex.ru");
+        val booker = userService.add(userDto);
+
+        val start = LocalDateTime.now().plusDays(1).withNano(0);
+        val first = underTest.add(new BookingDto(start, start.plusDays(2), item.getId()), booker.getId());
+        val second = underTest.add(new BookingDto(start.plusDays(1), start.plusDays(3), item.getId()),
+                booker.getId());
+        underTest.add(new BookingDto(start.plusDays(2), start.plusDays(3), item.getId()), booker.getId());
+        underTest.approve(first.getId(), owner.getId(), TRUE);
+
+        val overlapping = new BookingDto(start.minusHours(1), start.plusHours(1), item.getId());
+        var exception = assertThrows(ClientErrorException.class, () -> underTest.add(overlapping, booker.getId()));
+        assertEquals(String.format("item with id %d is already booked for this period", item.getId()),
+                exception.getMessage());
+
+        assertThrows(ClientErrorException.class, () -> underTest.approve(second.getId(), owner.getId(), TRUE));
+        assertEquals(BookingStatus.REJECTED, underTest.approve(second.getId(), owner.getId(), FALSE).getStatus());
+
+        val adjacent = underTest.add(new BookingDto(start.plusDays(2), start.plusDays(4), item.getId()),
+                booker.getId());
+        assertEquals(BookingStatus.APPROVED, underTest.approve(adjacent.getId(), owner.getId(), TRUE).getStatus());
+    }
+
+    @DisplayName("Пакет бронирований сохраняет допустимые строки и отклоняет остальные построчно")
+    @Test
+    void shouldAddBookingsInBatch() {
+        val owner = userService.add(getUserDto());
+        val item = itemService.add(getItemDto(), owner.getId());
+        val unavailableDto = getItemDto();
+        unavailableDto.setAvailable(FALSE);
+        val unavailable = itemService.add(unavailableDto, owner.getId());
+        var userDto = getUserDto();
+        userDto.setEmail("booker@yandex.ru");
+        val booker = userService.add(userDto);
+        val own = itemService.add(getItemDto(), booker.getId());
+
+        val start = LocalDateTime.now().plusDays(1).withNano(0);
+        val approved = underTest.add(new BookingDto(start, start.plusDays(2), item.getId()), booker.getId());
+        underTest.approve(approved.getId(), owner.getId(), TRUE);
+
+        val results = underTest.addAll(List.of(
+                new BookingDto(start.plusDays(3), start.plusDays(4), item.getId()),
+                new BookingDto(start.plusDays(1), start.plusDays(3), item.getId()),
+                new BookingDto(start.plusDays(3), start.plusDays(4), 9999L),
+                new BookingDto(start.plusDays(3), start.plusDays(4), unavailable.getId()),
+                new BookingDto(start.plusDays(3), start.plusDays(4), own.getId()),
+                new BookingDto(start.plusDays(3), start.plusDays(4), null),
+                new BookingDto(start.plusDays(3), start.plusDays(5), item.getId())), booker.getId());
+
+        assertEquals(List.of(201, 409, 404, 400, 404, 400, 201),
+                results.stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+        assertEquals(List.of(0, 1, 2, 3, 4, 5, 6),
+                results.stream().map(BatchResult::getIndex).collect(Collectors.toList()));
+        assertEquals(String.format("item with id %d is already booked for this period", item.getId()),
+                results.get(1).getError());
+        val created = results.get(0).getResult();
+        assertEquals(BookingStatus.WAITING, created.getStatus());
+        assertEquals(item.getId(), created.getItem().getId());
+        assertEquals(booker.getId(), created.getBooker().getId());
+        assertEquals(3, underTest.getAllBooker(booker.getId(), ALL, 0, 10).size());
+
+        assertThrows(NotFoundException.class, () -> underTest.addAll(List.of(
+                new BookingDto(start, start.plusDays(1), item.getId())), 9999L));
+    }
+
+    @DisplayName("Пакет бронирований отклоняет строки без дат или с началом не раньше конца, не падая целиком")
+    @Test
+    void shouldRejectBatchRowsWithoutValidRange() {
+        val owner = userService.add(getUserDto());
+        val item = itemService.add(getItemDto(), owner.getId());
+        var userDto = getUserDto();
+        userDto.setEmail("booker@yandex.ru");
+        val booker = userService.add(userDto);
+        val start = LocalDateTime.now().plusDays(1).withNano(0);
+
+        val results = underTest.addAll(List.of(
+                new BookingDto(null, start.plusDays(1), item.getId()),
+                new BookingDto(start, null, item.getId()),
+                new BookingDto(start.plusDays(1), start, item.getId()),
+                new BookingDto(start, start, item.getId()),
+                new BookingDto(start, start.plusDays(1), item.getId())), booker.getId());
+
+        assertEquals(List.of(400, 400, 400, 400, 201),
+                results.stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+        assertEquals("start booking should not be empty", results.get(0).getError());
+        assertEquals("end booking should not be empty", results.get(1).getError());
+        assertEquals("start booking must be before end booking", results.get(2).getError());
+
+        val invalid = underTest.addAll(List.of(new BookingDto(null, null, item.getId())), booker.getId());
+        assertEquals(400, invalid.get(0).getStatus());
+        assertEquals(1, underTest.getAllBooker(booker.getId(), ALL, 0, 10).size());
+    }
+
+    @DisplayName("Из одновременно подтверждаемых пересекающихся бронирований проходит только одно")
+    @Test
+    void shouldApproveOnlyOneOfConcurrentOverlappingBookings() throws Exception {
+        val owner = userService.add(getUserDto());
+        val item = itemService.add(getItemDto(), owner.getId());
+        var userDto = getUserDto();
+        userDto.setEmail("booker@yandex.ru");
+        val booker = userService.add(userDto);
+
+        val start = LocalDateTime.now().plusDays(1);
+        val bookingIds = new ArrayList<Long>();
+        for (int i = 0; i < 4; i++) {
+            bookingIds.add(underTest.add(new BookingDto(start.plusHours(i), start.plusDays(1), item.getId()),
+                    booker.getId()).getId());
+        }
+
+        val executor = Executors.newFixedThreadPool(bookingIds.size());
+        val ready = new CountDownLatch(1);
+        try {
+            val results = new ArrayList<Future<Boolean>>();
+            bookingIds.forEach(id -> results.add(executor.submit(() -> {
+                ready.await();
+                try {
+                    underTest.approve(id, owner.getId(), TRUE);
+                    return true;
+                } catch (ClientErrorException e) {
+                    return false;
+                }
+            })));
+            ready.countDown();
+
+            var approved = 0;
+            for (var result : results) {
+                approved += result.get() ? 1 : 0;
+            }
+            assertEquals(1, approved);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("Постраничный обход по курсору совпадает со смещением")
+    @Test
+    void shouldPageBookingsByCursor() {
+        val owner = userService.add(getUserDto());
+        val item = itemService.add(getItemDto(), owner.getId());
+        var userDto = getUserDto();
+        userDto.setEmail("booker@yandex.ru");
+        val booker = userService.add(userDto);
+
+        val start = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < 5; i++) {
+            underTest.add(new BookingDto(start.plusHours(i / 2), start.plusDays(1), item.getId()), booker.getId());
+        }
+
+        for (var role : BookingRole.values()) {
+            val userId = role == BookingRole.OWNER ? owner.getId() : booker.getId();
+            val expected = role == BookingRole.OWNER
+                    ? underTest.getAllOwner(userId, ALL, 0, 10)
+                    : underTest.getAllBooker(userId, ALL, 0, 10);
+            assertEquals(5, expected.size());
+
+            var paged = new ArrayList<BookingResponse>();
+            BookingCursor cursor = null;
+            do {
+                var page = role == BookingRole.OWNER
+                        ? underTest.getAllOwner(userId, ALL, cursor, 2)
+                        : underTest.getAllBooker(userId, ALL, cursor, 2);
+                paged.addAll(page);
+                cursor = page.size() < 2 ? null : BookingCursor.decode(BookingCursor.of(page.get(1)).encode());
+            } while (cursor != null);
+
+            assertEquals(expected.stream().map(BookingResponse::getId).collect(Collectors.toList()),
+                    paged.stream().map(BookingResponse::getId).collect(Collectors.toList()));
+        }
+
+        var exceptionBadRequest = assertThrows(BadRequestException.class, () -> BookingCursor.decode("broken"));
+        assertEquals("Invalid cursor: broken", exceptionBadRequest.getMessage());
+    }
+
+    @DisplayName("Выгрузка бронирований владельца обходит их все курсором в порядке листинга")
+    @Test
+    void shouldExportOwnerBookings() {
+        val owner = userService.add(getUserDto());
+        val item = itemService.add(getItemDto(), owner.getId());
+        var userDto = getUserDto();
+        userDto.setEmail("booker@yandex.ru");
+        val booker = userService.add(userDto);
+
+        val start = LocalDateTime.now().plusDays(1);
+        for (int i = 0; i < 12; i++) {
+            val booking = underTest.add(new BookingDto(start.plusDays(i), start.plusDays(i).plusHours(1),
+                    item.getId()), booker.getId());
+            if (i % 3 == 0) {
+                underTest.approve(booking.getId(), owner.getId(), FALSE);
+            }
+        }
+
+        for (var state : List.of(ALL, FUTURE, WAITING, REJECTED, PAST)) {
+            val exported = new ArrayList<BookingResponse>();
+            underTest.exportOwner(owner.getId(), state, exported::add);
+            assertEquals(underTest.getAllOwner(owner.getId(), state, 0, 100), exported);
+        }
+
+        val exceptionNotFound = assertThrows(NotFoundException.class,
+                () -> underTest.exportOwner(-1L, ALL, booking -> fail()));
+        assertEquals("user with id -1 not found", exceptionNotFound.getMessage());
+    }
+
     private static ItemDto getItemDto() {
         val dto = new ItemDto();
         dto.setName(ITEM_NAME);
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item;
+
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.exception.BadRequestException;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilityInterval;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ItemAvailabilityServiceTest {
+
+    @Autowired
+    private ItemAvailabilityService underTest;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    public void cleanUpEach() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Календарь вещи складывается из подтверждённых и ожидающих бронирований")
+    @Test
+    void shouldGetAvailability() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val booker = userService.add(new UserDto("Petr", "petr@yandex.ru"));
+        val item = itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, null), owner.getId());
+
+        val day = LocalDateTime.now().plusDays(1).withNano(0);
+        val approved = bookingService.add(new BookingDto(day.plusDays(1), day.plusDays(2), item.getId()),
+                booker.getId());
+        bookingService.approve(approved.getId(), owner.getId(), TRUE);
+        bookingService.add(new BookingDto(day.plusDays(3), day.plusDays(5), item.getId()), booker.getId());
+        bookingService.add(new BookingDto(day.plusDays(4), day.plusDays(6), item.getId()), booker.getId());
+        val rejected = bookingService.add(new BookingDto(day.plusDays(7), day.plusDays(8), item.getId()),
+                booker.getId());
+        bookingService.approve(rejected.getId(), owner.getId(), FALSE);
+
+        assertEquals(List.of(
+                        new AvailabilityInterval(day, day.plusDays(1), true),
+                        new AvailabilityInterval(day.plusDays(1), day.plusDays(2), false),
+                        new AvailabilityInterval(day.plusDays(2), day.plusDays(3), true),
+                        new AvailabilityInterval(day.plusDays(3), day.plusDays(6), false),
+                        new AvailabilityInterval(day.plusDays(6), day.plusDays(10), true)),
+                underTest.getAvailability(item.getId(), day, day.plusDays(10)));
+
+        assertEquals(List.of(new AvailabilityInterval(day.plusDays(4), day.plusDays(5), false)),
+                underTest.getAvailability(item.getId(), day.plusDays(4), day.plusDays(5)));
+
+        assertThrows(BadRequestException.class, () -> underTest.getAvailability(item.getId(), day, day));
+        assertThrows(NotFoundException.class, () -> underTest.getAvailability(item.getId() + 1, day, day.plusDays(1)));
+    }
+
+    @DisplayName("Календарь вещи кешируется и сбрасывается при создании и подтверждении бронирования")
+    @Test
+    void shouldCacheAvailabilityUntilBookingChanges() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val booker = userService.add(new UserDto("Petr", "petr@yandex.ru"));
+        val item = itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, null), owner.getId());
+        val day = LocalDateTime.now().plusDays(1).withNano(0);
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        assertEquals(1, underTest.getAvailability(item.getId(), day, day.plusDays(3)).size());
+        statistics.clear();
+        underTest.getAvailability(item.getId(), day, day.plusDays(3));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        val booking = bookingService.add(new BookingDto(day.plusDays(1), day.plusDays(2), item.getId()),
+                booker.getId());
+        assertEquals(3, underTest.getAvailability(item.getId(), day, day.plusDays(3)).size());
+
+        bookingService.approve(booking.getId(), owner.getId(), FALSE);
+        assertEquals(1, underTest.getAvailability(item.getId(), day, day.plusDays(3)).size());
+    }
+
+    @DisplayName("Окно, начинающееся в прошлом, читается отдельным запросом и видит завершённые бронирования")
+    @Test
+    void shouldReadPastWindowWithRangeQuery() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val booker = userService.add(new UserDto("Petr", "petr@yandex.ru"));
+        val item = itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, null), owner.getId());
+        val now = LocalDateTime.now().withNano(0);
+        val past = bookingService.add(new BookingDto(now.minusDays(3), now.minusDays(2), item.getId()),
+                booker.getId());
+        bookingService.approve(past.getId(), owner.getId(), TRUE);
+        bookingService.add(new BookingDto(now.plusDays(1), now.plusDays(2), item.getId()), booker.getId());
+
+        assertEquals(List.of(
+                        new AvailabilityInterval(now.plusHours(1), now.plusDays(1), true),
+                        new AvailabilityInterval(now.plusDays(1), now.plusDays(2), false)),
+                underTest.getAvailability(item.getId(), now.plusHours(1), now.plusDays(2)));
+
+        assertEquals(List.of(
+                        new AvailabilityInterval(now.minusDays(4), now.minusDays(3), true),
+                        new AvailabilityInterval(now.minusDays(3), now.minusDays(2), false),
+                        new AvailabilityInterval(now.minusDays(2), now, true)),
+                underTest.getAvailability(item.getId(), now.minusDays(4), now));
+    }
+}
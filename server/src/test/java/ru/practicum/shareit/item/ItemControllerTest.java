@@ -1,15 +1,19 @@
 package ru.practicum.shareit.item;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.val;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.dto.AvailabilityInterval;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.CommentMapperImpl;
 import ru.practicum.shareit.item.mapper.ItemMapper;
@@ -17,6 +21,7 @@ import ru.practicum.shareit.item.mapper.ItemMapperImpl;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.batch.BatchResult;
 
 import java.time.LocalDateTime;
 import java.util.Collections;
@@ -27,10 +32,10 @@ import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.BDDMockito.given;
+import static org.springframework.http.HttpStatus.NOT_FOUND;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static ru.practicum.shareit.util.Constants.USER_HEADER;
 
 @WebMvcTest({ItemController.class, ItemMapperImpl.class, CommentMapperImpl.class})
@@ -40,6 +45,8 @@ class ItemControllerTest {
     private MockMvc mvc;
     @MockBean
     private ItemService itemService;
+    @MockBean
+    private ItemAvailabilityService itemAvailabilityService;
     @Autowired
     private ObjectMapper objectMapper;
     @Autowired
@@ -48,6 +55,7 @@ class ItemControllerTest {
     private CommentMapper commentMapper;
 
     private static final String NAME = "Screwdriver";
+    private static final String TAG = "tag-1";
     private static final String UPDATED_NAME = "Screwdriver accumulated";
     private static final String DESCRIPTION = "Designed for a versatile performance, can be used across all professional electrical maintenance and repair jobs.";
     private static final String UPDATED_DESCRIPTION = "Yet another description";
@@ -55,8 +63,29 @@ class ItemControllerTest {
     private static final String END_POINT_PATH_WITH_ID = END_POINT_PATH + "/{id}";
     private static final String END_POINT_PATH_COMMENT = END_POINT_PATH_WITH_ID + "/comment";
     private static final String END_POINT_PATH_SEARCH = END_POINT_PATH + "/search";
+    private static final String END_POINT_PATH_AVAILABILITY = END_POINT_PATH_WITH_ID + "/availability";
     private static final String TEXT_PARAM = "text";
 
+    @Test
+    @DisplayName("Ручка календаря вещи возвращает 200 и интервалы занятости")
+    void shouldGetAvailability() throws Exception {
+        val from = LocalDateTime.of(2030, 1, 1, 12, 0);
+        val to = from.plusDays(2);
+        given(itemAvailabilityService.getAvailability(1L, from, to)).willReturn(List.of(
+                new AvailabilityInterval(from, from.plusDays(1), true),
+                new AvailabilityInterval(from.plusDays(1), to, false)));
+
+        mvc.perform(get(END_POINT_PATH_AVAILABILITY, 1L)
+                        .header(USER_HEADER, 1L)
+                        .param("from", from.toString())
+                        .param("to", to.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].free").value(true))
+                .andExpect(jsonPath("$[1].start").value("2030-01-02T12:00:00"))
+                .andExpect(jsonPath("$[1].free").value(false));
+    }
+
     @Test
     @DisplayName("Ручка создания по валидному запросу вещи возвращает 201 и json c id новой вещью")
     void shouldCreateItem() throws Exception {
@@ -207,6 +236,29 @@ class ItemControllerTest {
 
     }
 
+    @Test
+    @DisplayName("Ручка пакетного создания вещей возвращает 200 и результат по каждой строке")
+    void shouldCreateItemsInBatch() throws Exception {
+        ItemDto dto = getDto();
+        Item item = getItem();
+        var results = List.of(BatchResult.created(0, itemMapper.entityToItemResponse(item)),
+                BatchResult.<ItemResponse>failed(1, NOT_FOUND, "item request with id 9999 not found"));
+
+        given(itemService.addAll(List.of(dto, dto), 1L)).willReturn(results);
+
+        mvc.perform(post(END_POINT_PATH + "/batch")
+                        .header(USER_HEADER, 1L)
+                        .contentType(APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(dto, dto))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].status").value(201))
+                .andExpect(jsonPath("$[0].result.id").value(item.getId()))
+                .andExpect(jsonPath("$[1].index").value(1))
+                .andExpect(jsonPath("$[1].status").value(404))
+                .andExpect(jsonPath("$[1].error").value("item request with id 9999 not found"));
+    }
+
     @Test
     @DisplayName("Ручка получения вещи возвращает 200 и json вещи")
     void shouldGetItemById() throws Exception {
@@ -217,26 +269,44 @@ class ItemControllerTest {
         item.setOwner(owner);
 
         given(itemService.add(dto, item.getId())).willReturn(item);
-        given(itemService.findById(item.getId())).willReturn(Optional.of(item));
+        given(itemService.getView(item.getId(), 1L))
+                .willReturn(new ItemView(owner.getId(), itemMapper.entityToItemResponse(item), TAG, null));
 
         mvc.perform(get(END_POINT_PATH_WITH_ID, item.getId())
                         .header(USER_HEADER, 1L))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TAG + "\""))
                 .andExpect(jsonPath("$.id").value(item.getId()))
                 .andExpect(jsonPath("$.name").value(item.getName()))
                 .andExpect(jsonPath("$.available").value(item.getAvailable()))
                 .andExpect(jsonPath("$.description").value(item.getDescription()));
     }
 
+    @Test
+    @DisplayName("Ручка получения вещи по совпавшему ETag возвращает 304 без тела")
+    void shouldNotSendUnmodifiedItem() throws Exception {
+        Item item = getItem();
+
+        given(itemService.getView(item.getId(), 1L))
+                .willReturn(new ItemView(2L, itemMapper.entityToItemResponse(item), TAG, null));
+
+        mvc.perform(get(END_POINT_PATH_WITH_ID, item.getId())
+                        .header(USER_HEADER, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TAG + "\""))
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("Ручка получения всех вещей пользователя возвращает 200 и список json c вещами")
     void shouldGetAllItems() throws Exception {
         ItemDto dto = getDto();
         Item item = getItem();
-        var allItems = List.of(item);
+        var allItems = List.of(itemMapper.entityToItemResponse(item));
 
         given(itemService.add(dto, item.getId())).willReturn(item);
-        given(itemService.getAllByUserId(item.getOwner().getId())).willReturn(allItems);
+        given(itemService.getAllResponsesByUserId(item.getOwner().getId())).willReturn(allItems);
 
         mvc.perform(get(END_POINT_PATH)
                         .header(USER_HEADER, item.getOwner().getId()))
@@ -258,9 +328,9 @@ class ItemControllerTest {
         String empty = "";
 
         given(itemService.add(dto, item.getId())).willReturn(item);
-        given(itemService.searchItems(NAME)).willReturn(allItems);
-        given(itemService.searchItems(DESCRIPTION)).willReturn(allItems);
-        given(itemService.searchItems(empty)).willReturn(Collections.emptyList());
+        given(itemService.searchItems(NAME, 0, null)).willReturn(allItems);
+        given(itemService.searchItems(DESCRIPTION, 0, null)).willReturn(allItems);
+        given(itemService.searchItems(empty, 0, null)).willReturn(Collections.emptyList());
 
         String searchByName = item.getName();
         String searchByDescription = item.getDescription();
@@ -301,8 +371,8 @@ class ItemControllerTest {
         item.setAvailable(FALSE);
 
         given(itemService.add(dto, item.getId())).willReturn(item);
-        given(itemService.searchItems(NAME)).willReturn(Collections.emptyList());
-        given(itemService.searchItems(DESCRIPTION)).willReturn(Collections.emptyList());
+        given(itemService.searchItems(NAME, 0, null)).willReturn(Collections.emptyList());
+        given(itemService.searchItems(DESCRIPTION, 0, null)).willReturn(Collections.emptyList());
 
         String searchByName = item.getName();
         String searchByDescription = item.getDescription();
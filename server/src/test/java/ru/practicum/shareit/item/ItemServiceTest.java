@@ -1,30 +1,38 @@
 package ru.practicum.shareit.item;
 
 import lombok.val;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.BookingService;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
-import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.request.RequestService;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.batch.BatchResult;
 
+import javax.persistence.EntityManagerFactory;
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static java.lang.Boolean.FALSE;
 import static java.lang.Boolean.TRUE;
 import static org.junit.jupiter.api.Assertions.*;
+import static ru.practicum.shareit.util.CacheConfig.ITEM_VIEWS;
 
 @SpringBootTest
 class ItemServiceTest {
@@ -47,6 +55,10 @@ class ItemServiceTest {
     private BookingRepository bookingRepository;
     @Autowired
     private ItemRequestRepository itemRequestRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private CacheManager cacheManager;
 
     private static final String NAME = "Screwdriver";
     private static final String UPDATED_NAME = "Screwdriver accumulated";
@@ -62,6 +74,7 @@ class ItemServiceTest {
         commentRepository.deleteAll();
         bookingRepository.deleteAll();
         itemRequestRepository.deleteAll();
+        cacheManager.getCache(ITEM_VIEWS).clear();
     }
 
     @DisplayName("Вещь добавлна в сервис")
@@ -137,6 +150,31 @@ class ItemServiceTest {
         assertEquals(item.getRequest().getId(), request.getId());
     }
 
+    @DisplayName("Пакет вещей сохраняется, строка с неизвестным запросом отклоняется отдельно")
+    @Test
+    void shouldAddItemsInBatch() {
+        val user = userService.add(getUserDto());
+        val request = requestService.add(new ItemRequestDto("Нужна отвёртка"), user.getId());
+
+        val results = underTest.addAll(List.of(
+                new ItemDto(NAME, DESCRIPTION, TRUE, null),
+                new ItemDto(NAME, DESCRIPTION, TRUE, 9999L),
+                new ItemDto(UPDATED_NAME, UPDATED_DESCRIPTION, FALSE, request.getId())), user.getId());
+
+        assertEquals(List.of(201, 404, 201),
+                results.stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+        assertEquals("item request with id 9999 not found", results.get(1).getError());
+        assertNull(results.get(1).getResult());
+        val created = results.get(2).getResult();
+        assertEquals(UPDATED_NAME, created.getName());
+        assertEquals(request.getId(), created.getRequestId());
+        assertEquals(List.of(results.get(0).getResult().getId(), created.getId()),
+                underTest.getAllByUserId(user.getId()).stream().map(Item::getId).collect(Collectors.toList()));
+
+        assertThrows(NotFoundException.class, () ->
+                underTest.addAll(List.of(new ItemDto(NAME, DESCRIPTION, TRUE, null)), 9999L));
+    }
+
     @DisplayName("Вещь обновлена в сервисе если она там есть")
     @Test
     void shouldUpdateItem() {
@@ -190,7 +228,7 @@ class ItemServiceTest {
         String searchByName = item.getName();
         String searchByDescription = item.getDescription();
 
-        var items = underTest.searchItems(searchByName);
+        var items = underTest.searchItems(searchByName, 0, 10);
         var itemFromList = items.stream().filter(value -> value.getId().equals(item.getId())).findFirst();
         assertTrue(itemFromList.isPresent());
 
@@ -200,20 +238,60 @@ class ItemServiceTest {
         assertEquals(dto.getDescription(), savedListItem.getDescription());
         assertEquals(dto.getAvailable(), savedListItem.getAvailable());
 
-        items = underTest.searchItems(searchByDescription);
+        items = underTest.searchItems(searchByDescription, 0, 10);
         itemFromList = items.stream().filter(value -> value.getId().equals(item.getId())).findFirst();
         assertTrue(itemFromList.isPresent());
 
         dto.setAvailable(FALSE);
         underTest.update(dto, item.getId(), user.getId());
-        items = underTest.searchItems(searchByName);
+        items = underTest.searchItems(searchByName, 0, 10);
         assertTrue(items.isEmpty());
 
-        items = underTest.searchItems("");
+        items = underTest.searchItems("", 0, 10);
         assertTrue(items.isEmpty());
 
     }
 
+    @DisplayName("Поиск ранжирует совпадения по названию выше, учитывает пагинацию и не трактует % как шаблон")
+    @Test
+    void shouldSearchItemsRankedAndPaged() {
+        val user = userService.add(getUserDto());
+        val byDescription = underTest.add(new ItemDto("Щётка", "Отвёртка в комплекте", TRUE, null), user.getId());
+        val byName = underTest.add(new ItemDto("Отвёртка", "Крестовая", TRUE, null), user.getId());
+        val byNameToo = underTest.add(new ItemDto("ОТВЁРТКА 100%", "Плоская", TRUE, null), user.getId());
+
+        var items = underTest.searchItems("отвёртка", 0, 10);
+        assertEquals(3, items.size());
+        assertEquals(byName.getId(), items.get(0).getId());
+        assertEquals(byNameToo.getId(), items.get(1).getId());
+        assertEquals(byDescription.getId(), items.get(2).getId());
+
+        items = underTest.searchItems("отвёртка", 1, 1);
+        assertEquals(1, items.size());
+        assertEquals(byNameToo.getId(), items.get(0).getId());
+
+        items = underTest.searchItems("100%", 0, 10);
+        assertEquals(1, items.size());
+        assertEquals(byNameToo.getId(), items.get(0).getId());
+
+        items = underTest.searchItems("%", 0, 10);
+        assertEquals(1, items.size());
+        assertEquals(byNameToo.getId(), items.get(0).getId());
+        assertTrue(underTest.searchItems("_", 0, 10).isEmpty());
+    }
+
+    @DisplayName("Поиск без размера страницы возвращает все совпадения")
+    @Test
+    void shouldSearchAllItemsWithoutSize() {
+        val user = userService.add(getUserDto());
+        for (int i = 0; i < 12; i++) {
+            underTest.add(new ItemDto("Отвёртка " + i, "Крестовая", TRUE, null), user.getId());
+        }
+
+        assertEquals(12, underTest.searchItems("отвёртка", 0, null).size());
+        assertEquals(10, underTest.searchItems("отвёртка", 2, null).size());
+    }
+
     @DisplayName("Комментарий добавлен в сервис")
     @Test
     void shouldAddComment() {
@@ -268,7 +346,7 @@ class ItemServiceTest {
 
     @DisplayName("Проверка дополнительных полей бронирования вещи, последнее и следующее бронирование")
     @Test
-    void shouldUpdateBookingFields() {
+    void shouldSetBookingFieldsForOwner() {
         var ownerDto = getUserDto();
         val owner = userService.add(ownerDto);
 
@@ -278,7 +356,7 @@ class ItemServiceTest {
         val item = underTest.add(itemDto, owner.getId());
 
         var bookingDto = new BookingDto(LocalDateTime.now().minusDays(1),
-                LocalDateTime.now().plusDays(1), item.getId());
+                LocalDateTime.now().plusMinutes(30), item.getId());
 
         var booking = bookingService.add(bookingDto, booker.getId());
         bookingService.approve(booking.getId(), owner.getId(), TRUE);
@@ -289,14 +367,132 @@ class ItemServiceTest {
         booking = bookingService.add(bookingDto, booker.getId());
         bookingService.approve(booking.getId(), owner.getId(), TRUE);
 
-        var itemRequest = new ItemResponse();
-        itemRequest.setId(item.getId());
-        var updatedItemRequest = underTest.updateBookingFields(itemRequest);
-        assertNotNull(updatedItemRequest.getLastBooking());
-        assertNotNull(updatedItemRequest.getNextBooking());
+        val response = underTest.getView(item.getId(), owner.getId()).getItem();
+        assertNotNull(response.getLastBooking());
+        assertNotNull(response.getNextBooking());
+
+    }
+
+    @DisplayName("Повторное получение вещи не обращается к базе, изменение вещи и новый комментарий видны сразу")
+    @Test
+    void shouldServeCachedItemViewUntilChanged() {
+        val owner = userService.add(getUserDto());
+        val booker = userService.add(new UserDto("Booker", "booker@yandex.ru"));
+        val item = underTest.add(getDto(), owner.getId());
+        val booking = bookingService.add(new BookingDto(LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), item.getId()), booker.getId());
+        bookingService.approve(booking.getId(), owner.getId(), TRUE);
 
+        val view = underTest.getView(item.getId(), booker.getId()).getItem();
+        assertNull(view.getLastBooking());
+        assertTrue(view.getComments().isEmpty());
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        assertSame(view, underTest.getView(item.getId(), booker.getId()).getItem());
+        assertEquals(0, statistics.getPrepareStatementCount());
+        statistics.setStatisticsEnabled(false);
+
+        val tag = underTest.getView(item.getId(), booker.getId()).getTag();
+        assertNotEquals(tag, underTest.getView(item.getId(), owner.getId()).getTag());
+        underTest.addComment(getCommentDto(), item.getId(), booker.getId());
+        assertNotEquals(tag, underTest.getView(item.getId(), booker.getId()).getTag());
+        assertEquals(1, underTest.getView(item.getId(), booker.getId()).getItem().getComments().size());
+        assertEquals(1, underTest.getView(item.getId(), owner.getId()).getItem().getComments().size());
+
+        underTest.update(new ItemDto(UPDATED_NAME, null, null, null), item.getId(), owner.getId());
+        assertEquals(UPDATED_NAME, underTest.getView(item.getId(), booker.getId()).getItem().getName());
+        assertEquals(UPDATED_NAME, underTest.getView(item.getId(), owner.getId()).getItem().getName());
+        assertThrows(NotFoundException.class, () -> underTest.getView(9999L, owner.getId()));
     }
 
+    @DisplayName("Новое имя автора комментария видно в закешированной вещи сразу после обновления пользователя")
+    @Test
+    void shouldRefreshItemViewWhenAuthorRenamed() {
+        val owner = userService.add(getUserDto());
+        val booker = userService.add(new UserDto("Booker", "booker@yandex.ru"));
+        val item = underTest.add(getDto(), owner.getId());
+        val booking = bookingService.add(new BookingDto(LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), item.getId()), booker.getId());
+        bookingService.approve(booking.getId(), owner.getId(), TRUE);
+        underTest.addComment(getCommentDto(), item.getId(), booker.getId());
+
+        val view = underTest.getView(item.getId(), owner.getId());
+        assertEquals("Booker", view.getItem().getComments().get(0).getAuthorName());
+
+        userService.update(new UserDto("Renamed", null), booker.getId());
+
+        val refreshed = underTest.getView(item.getId(), owner.getId());
+        assertEquals("Renamed", refreshed.getItem().getComments().get(0).getAuthorName());
+        assertNotEquals(view.getTag(), refreshed.getTag());
+    }
+
+    @DisplayName("Бронирования видит только владелец, следующее бронирование становится последним с его началом")
+    @Test
+    void shouldRefreshOwnerViewWhenBookingsChange() throws InterruptedException {
+        val owner = userService.add(getUserDto());
+        val booker = userService.add(new UserDto("Booker", "booker@yandex.ru"));
+        val item = underTest.add(getDto(), owner.getId());
+        assertNull(underTest.getView(item.getId(), owner.getId()).getItem().getNextBooking());
+
+        val start = LocalDateTime.now().plusSeconds(1);
+        val booking = bookingService.add(new BookingDto(start, start.plusDays(1), item.getId()), booker.getId());
+        bookingService.approve(booking.getId(), owner.getId(), TRUE);
+
+        var view = underTest.getView(item.getId(), owner.getId()).getItem();
+        assertNull(view.getLastBooking());
+        assertEquals(booking.getId(), view.getNextBooking().getId());
+        assertNull(underTest.getView(item.getId(), booker.getId()).getItem().getNextBooking());
+
+        Thread.sleep(Math.max(0, Duration.between(LocalDateTime.now(), start).toMillis()) + 50);
+        view = underTest.getView(item.getId(), owner.getId()).getItem();
+        assertEquals(booking.getId(), view.getLastBooking().getId());
+        assertNull(view.getNextBooking());
+    }
+
+    @DisplayName("Количество запросов к БД при получении вещей владельца не зависит от количества вещей")
+    @Test
+    void shouldGetAllResponsesWithFixedStatementCount() {
+        val owner = userService.add(getUserDto());
+        val booker = userService.add(new UserDto("Booker", "booker@yandex.ru"));
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+
+        addItemWithBookingsAndComment(owner.getId(), booker.getId());
+        statistics.clear();
+        var items = underTest.getAllResponsesByUserId(owner.getId());
+        val statementsForOneItem = statistics.getPrepareStatementCount();
+        assertEquals(1, items.size());
+
+        for (int i = 0; i < 4; i++) {
+            addItemWithBookingsAndComment(owner.getId(), booker.getId());
+        }
+        statistics.clear();
+        items = underTest.getAllResponsesByUserId(owner.getId());
+        val statementsForFiveItems = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        assertEquals(5, items.size());
+        assertEquals(statementsForOneItem, statementsForFiveItems);
+        items.forEach(item -> {
+            assertNotNull(item.getLastBooking());
+            assertNotNull(item.getNextBooking());
+            assertEquals(booker.getId(), item.getNextBooking().getBookerId());
+            assertEquals(1, item.getComments().size());
+            assertEquals(booker.getName(), item.getComments().get(0).getAuthorName());
+        });
+    }
+
+    private void addItemWithBookingsAndComment(Long ownerId, Long bookerId) {
+        val item = underTest.add(getDto(), ownerId);
+        var booking = bookingService.add(new BookingDto(LocalDateTime.now().minusDays(2),
+                LocalDateTime.now().minusDays(1), item.getId()), bookerId);
+        bookingService.approve(booking.getId(), ownerId, TRUE);
+        booking = bookingService.add(new BookingDto(LocalDateTime.now().plusDays(1),
+                LocalDateTime.now().plusDays(2), item.getId()), bookerId);
+        bookingService.approve(booking.getId(), ownerId, TRUE);
+        underTest.addComment(getCommentDto(), item.getId(), bookerId);
+    }
 
     private static ItemDto getDto() {
         val dto = new ItemDto();
@@ -0,0 +1,102 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.lang.Boolean.FALSE;
+import static java.lang.Boolean.TRUE;
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.search.engine=memory")
+class InMemoryItemSearchEngineTest {
+
+    @Autowired
+    private InMemoryItemSearchEngine underTest;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    private static final List<String> QUERIES = List.of("о", "от", "отв", "отвёртка", "ОТВЁРТКА", "щётка", "обув",
+            "для", "100%", "%", "_", "a_b", "крестовая", "Плоская отвёртка", "нет такого", "ка");
+
+    @BeforeEach
+    public void rebuildIndex() {
+        underTest.onApplicationReady();
+    }
+
+    @AfterEach
+    public void cleanUpEach() {
+        itemRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Поиск по индексу в памяти совпадает с поиском в БД после добавления и обновления вещей")
+    @Test
+    void shouldMatchDatabaseSearch() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val screwdriver = itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, null), owner.getId());
+        itemService.add(new ItemDto("Плоская отвёртка 100%", "Для шлицевых винтов", TRUE, null), owner.getId());
+        itemService.add(new ItemDto("Щётка", "Щётка для обуви, отвёртка в комплекте", TRUE, null), owner.getId());
+        itemService.add(new ItemDto("Крем", "Крем для обуви", FALSE, null), owner.getId());
+        itemService.add(new ItemDto("a_b", "snake_case", TRUE, null), owner.getId());
+        val brush = itemService.add(new ItemDto("Щётка для одежды", "Мягкая", FALSE, null), owner.getId());
+        assertConsistent();
+
+        itemService.update(new ItemDto(null, null, FALSE, null), screwdriver.getId(), owner.getId());
+        itemService.update(new ItemDto(null, "Мягкая, отвёртка не нужна", TRUE, null), brush.getId(),
+                owner.getId());
+        assertConsistent();
+
+        itemService.update(new ItemDto("Отвёртка крестовая", null, TRUE, null), screwdriver.getId(), owner.getId());
+        assertConsistent();
+    }
+
+    @DisplayName("Индекс в памяти перестраивается после удаления владельца вещей")
+    @Test
+    void shouldRebuildAfterUserDeleted() {
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, null), owner.getId());
+        assertEquals(1, underTest.search("отвёртка", 0, 10).size());
+
+        userService.deleteById(owner.getId());
+        assertTrue(underTest.search("отвёртка", 0, 10).isEmpty());
+    }
+
+    private void assertConsistent() {
+        val database = new DatabaseItemSearchEngine(itemRepository);
+        for (String query : QUERIES) {
+            for (int[] page : new int[][]{{0, 10}, {0, 1}, {1, 2}, {2, 10}, {10, 10},
+                    {0, Integer.MAX_VALUE}, {2, Integer.MAX_VALUE}}) {
+                assertEquals(ids(database.search(query, page[0], page[1])), ids(underTest.search(query, page[0], page[1])),
+                        String.format("query '%s' from %d size %d", query, page[0], page[1]));
+            }
+        }
+    }
+
+    private static List<Long> ids(List<Item> items) {
+        return items.stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+    }
+
+}
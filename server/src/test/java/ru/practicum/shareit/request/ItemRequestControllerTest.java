@@ -7,12 +7,15 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.mapper.ItemRequestMapperImpl;
 import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.util.ResourceTags;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -22,6 +25,8 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -37,11 +42,14 @@ class ItemRequestControllerTest {
     private MockMvc mvc;
     @MockBean
     private RequestService requestService;
+    @MockBean
+    private ResourceTags resourceTags;
     @Autowired
     private ObjectMapper objectMapper;
     @Autowired
     private ItemRequestMapper itemRequestMapper;
 
+    private static final String TAG = "tag-1";
     private static final String DESCRIPTION = "Хотел бы воспользоваться щёткой для обуви";
     private static final String END_POINT_PATH = "/requests";
     private static final String END_POINT_PATH_WITH_ID = END_POINT_PATH + "/{id}";
@@ -81,6 +89,37 @@ class ItemRequestControllerTest {
                 .andExpect(jsonPath("$.description").value(response.getDescription()));
     }
 
+    @Test
+    @DisplayName("Ручка получения запроса по совпавшему ETag возвращает 304, не читая вещи запроса")
+    void shouldNotReturnUnmodifiedItemRequest() throws Exception {
+        var user = getUser();
+        var itemRequest = getItemRequest();
+        when(requestService.getById(itemRequest.getId(), user.getId())).thenReturn(Optional.of(itemRequest));
+        given(resourceTags.get(ItemRequest.class, itemRequest.getId())).willReturn(TAG);
+
+        mvc.perform(get(END_POINT_PATH_WITH_ID, itemRequest.getId())
+                        .header(USER_HEADER, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(requestService, never()).itemsByItemRequestId(itemRequest.getId());
+    }
+
+    @Test
+    @DisplayName("Ручка получения запроса неизвестным пользователем возвращает 404 даже по совпавшему ETag")
+    void shouldCheckRequestorBeforeNotModified() throws Exception {
+        var itemRequest = getItemRequest();
+        when(requestService.getById(itemRequest.getId(), 9999L))
+                .thenThrow(new NotFoundException("user with id %d not found", 9999L));
+        given(resourceTags.get(ItemRequest.class, itemRequest.getId())).willReturn(TAG);
+
+        mvc.perform(get(END_POINT_PATH_WITH_ID, itemRequest.getId())
+                        .header(USER_HEADER, 9999L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TAG + "\""))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Ручка получения списка запросов возвращает 200 и json запросов")
     void shouldGetAllItemRequest() throws Exception {
@@ -1,17 +1,26 @@
 package ru.practicum.shareit.request;
 
 import lombok.val;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.ItemRepository;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.user.UserRepository;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.ResourceTags;
 
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static java.lang.Boolean.TRUE;
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -25,6 +34,14 @@ class RequestServiceTest {
     private UserService userService;
     @Autowired
     private UserRepository userRepository;
+    @Autowired
+    private ItemService itemService;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private ResourceTags resourceTags;
 
     private static final String USER_NAME = "Ivan";
     private static final String USER_EMAIL = "ivan@yandex.ru";
@@ -32,6 +49,7 @@ class RequestServiceTest {
 
     @AfterEach
     public void cleanUpEach() {
+        itemRepository.deleteAll();
         repository.deleteAll();
         userRepository.deleteAll();
     }
@@ -80,6 +98,34 @@ class RequestServiceTest {
 
     }
 
+    @DisplayName("Вещи для страницы запросов загружаются одним запросом к БД")
+    @Test
+    void shouldGetItemsByItemRequestIds() {
+        val requestor = userService.add(getUserDto());
+        val owner = userService.add(new UserDto("Owner", "owner@yandex.ru"));
+        val dto = new ItemRequestDto();
+        dto.setDescription(DESCRIPTION);
+        val first = underTest.add(dto, requestor.getId());
+        val second = underTest.add(dto, requestor.getId());
+        val empty = underTest.add(dto, requestor.getId());
+        itemService.add(new ItemDto("Щётка", "Щётка для обуви", TRUE, first.getId()), owner.getId());
+        itemService.add(new ItemDto("Щётка", "Щётка для одежды", TRUE, first.getId()), owner.getId());
+        itemService.add(new ItemDto("Крем", "Крем для обуви", TRUE, second.getId()), owner.getId());
+
+        var statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        val items = underTest.itemsByItemRequestIds(List.of(first.getId(), second.getId(), empty.getId()));
+        val statements = statistics.getPrepareStatementCount();
+        statistics.setStatisticsEnabled(false);
+
+        assertEquals(1, statements);
+        assertEquals(2, items.get(first.getId()).size());
+        assertEquals(1, items.get(second.getId()).size());
+        assertFalse(items.containsKey(empty.getId()));
+        assertTrue(underTest.itemsByItemRequestIds(List.of()).isEmpty());
+    }
+
     private static UserDto getUserDto() {
         val userDto = new UserDto();
         userDto.setName(USER_NAME);
@@ -87,4 +133,17 @@ class RequestServiceTest {
         return userDto;
     }
 
-}
\ No newline at end of file
+
+    @DisplayName("ETag запроса меняется, когда на него добавляют вещь")
+    @Test
+    void shouldChangeTagWhenItemAdded() {
+        val requestor = userService.add(new UserDto("Petr", "petr@yandex.ru"));
+        val owner = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val request = underTest.add(new ItemRequestDto("Нужна отвёртка"), requestor.getId());
+        val tag = resourceTags.get(ItemRequest.class, request.getId());
+        assertEquals(tag, resourceTags.get(ItemRequest.class, request.getId()));
+
+        itemService.add(new ItemDto("Отвёртка", "Крестовая", TRUE, request.getId()), owner.getId());
+        assertNotEquals(tag, resourceTags.get(ItemRequest.class, request.getId()));
+    }
+}
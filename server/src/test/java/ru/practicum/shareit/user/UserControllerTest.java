@@ -6,11 +6,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.ClientErrorException;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.util.ResourceTags;
 
 import java.util.List;
 import java.util.Optional;
@@ -20,8 +22,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.BDDMockito.willDoNothing;
 import static org.springframework.http.MediaType.APPLICATION_JSON;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest({UserController.class, UserMapperImpl.class})
 class UserControllerTest {
@@ -30,6 +31,8 @@ class UserControllerTest {
     private MockMvc mvc;
     @MockBean
     private UserService userService;
+    @MockBean
+    private ResourceTags resourceTags;
     @Autowired
     private ObjectMapper objectMapper;
     @Autowired
@@ -41,6 +44,7 @@ class UserControllerTest {
     private static final String UPDATED_EMAIL = "update@yandex.ru";
     private static final String END_POINT_PATH = "/users";
     private static final String END_POINT_PATH_WITH_ID = END_POINT_PATH + "/{id}";
+    private static final String TAG = "tag-1";
 
     @Test
     @DisplayName("Ручка создания по валидному запросу пользователя возвращает 201 и json c id нового пользователя")
@@ -159,14 +163,40 @@ class UserControllerTest {
 
         given(userService.add(dto)).willReturn(user);
         given(userService.findById(user.getId())).willReturn(Optional.of(user));
+        given(resourceTags.get(User.class, user.getId())).willReturn(TAG);
 
         mvc.perform(get(END_POINT_PATH_WITH_ID, user.getId()))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + TAG + "\""))
                 .andExpect(jsonPath("$.id").value(user.getId()))
                 .andExpect(jsonPath("$.name").value(user.getName()))
                 .andExpect(jsonPath("$.email").value(user.getEmail()));
     }
 
+    @Test
+    @DisplayName("Ручка получения пользователя по совпавшему ETag возвращает 304 без тела")
+    void shouldNotReturnUnmodifiedUser() throws Exception {
+        var user = getUser();
+        given(userService.findById(user.getId())).willReturn(Optional.of(user));
+        given(resourceTags.get(User.class, user.getId())).willReturn(TAG);
+
+        mvc.perform(get(END_POINT_PATH_WITH_ID, user.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TAG + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("Ручка получения удалённого пользователя возвращает 404 даже по совпавшему ETag")
+    void shouldNotFindMissingUserWithMatchingTag() throws Exception {
+        given(userService.findById(1L)).willReturn(Optional.empty());
+        given(resourceTags.get(User.class, 1L)).willReturn(TAG);
+
+        mvc.perform(get(END_POINT_PATH_WITH_ID, 1L)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + TAG + "\""))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     @DisplayName("Ручка по удалению пользователя, возвращает 204")
     public void shouldRemoveUser() throws Exception {
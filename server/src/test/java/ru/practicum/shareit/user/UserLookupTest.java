@@ -0,0 +1,85 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.util.CacheConfig.USERS;
+
+@SpringBootTest
+class UserLookupTest {
+
+    @Autowired
+    private UserLookup underTest;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    public void cleanUpEach() {
+        userRepository.deleteAll();
+        cacheManager.getCache(USERS).clear();
+    }
+
+    @DisplayName("Повторная проверка пользователя не обращается к базе")
+    @Test
+    void shouldCheckKnownUserWithoutStatement() {
+        val user = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        underTest.checkExists(user.getId());
+        val hits = hits();
+        val statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        underTest.checkExists(user.getId());
+        val reference = underTest.getReference(user.getId());
+
+        assertEquals(0, statistics.getPrepareStatementCount());
+        statistics.setStatisticsEnabled(false);
+        assertEquals(user.getId(), reference.getId());
+        assertEquals(hits + 2, hits());
+    }
+
+    @DisplayName("Отсутствующий пользователь не кешируется")
+    @Test
+    void shouldNotCacheUnknownUser() {
+        assertThrows(NotFoundException.class, () -> underTest.checkExists(-1L));
+
+        assertNull(cacheManager.getCache(USERS).get(-1L));
+    }
+
+    @DisplayName("Удалённый пользователь больше не находится")
+    @Test
+    void shouldEvictDeletedUser() {
+        val user = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        underTest.checkExists(user.getId());
+
+        userService.deleteById(user.getId());
+
+        assertThrows(NotFoundException.class, () -> underTest.checkExists(user.getId()));
+    }
+
+    private double hits() {
+        return registry.get("cache.gets").tags("cache", USERS, "result", "hit").functionCounter().count();
+    }
+}
@@ -9,6 +9,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.exception.ClientErrorException;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.util.ResourceTags;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -19,6 +20,8 @@ class UserServiceTest {
     private UserService underTest;
     @Autowired
     private UserRepository repository;
+    @Autowired
+    private ResourceTags resourceTags;
 
     private static final String NAME = "Ivan";
     private static final String UPDATED_NAME = "Update";
@@ -137,4 +140,15 @@ class UserServiceTest {
 
     }
 
-}
\ No newline at end of file
+
+    @DisplayName("ETag пользователя не меняется между запросами и меняется после обновления")
+    @Test
+    void shouldChangeTagOnUpdate() {
+        val user = underTest.add(new UserDto(NAME, EMAIL));
+        val tag = resourceTags.get(User.class, user.getId());
+        assertEquals(tag, resourceTags.get(User.class, user.getId()));
+
+        underTest.update(new UserDto(UPDATED_NAME, null), user.getId());
+        assertNotEquals(tag, resourceTags.get(User.class, user.getId()));
+    }
+}
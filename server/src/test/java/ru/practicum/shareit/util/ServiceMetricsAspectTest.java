@@ -0,0 +1,65 @@
+package ru.practicum.shareit.util;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.BookingService;
+import ru.practicum.shareit.booking.BookingState;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.UserRepository;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserDto;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+class ServiceMetricsAspectTest {
+
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private BookingService bookingService;
+    @Autowired
+    private UserService userService;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    public void cleanUpEach() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Вызовы сервисов учитываются с тегами метода, статуса бронирования и результата")
+    @Test
+    void shouldTimeServiceCalls() {
+        val user = userService.add(new UserDto("Ivan", "ivan@yandex.ru"));
+        val before = count("BookingService", "getAllOwner", "PAST", "SUCCESS");
+
+        bookingService.getAllOwner(user.getId(), BookingState.PAST, 0, 10);
+        bookingService.getAllOwner(user.getId(), BookingState.PAST, 0, 10);
+
+        assertEquals(before + 2, count("BookingService", "getAllOwner", "PAST", "SUCCESS"));
+    }
+
+    @DisplayName("Исключения предметной области учитываются как ошибки клиента")
+    @Test
+    void shouldTagDomainExceptionsAsClientErrors() {
+        val before = count("BookingService", "getAllBooker", "ALL", "CLIENT_ERROR");
+
+        assertThrows(NotFoundException.class, () -> bookingService.getAllBooker(-1L, BookingState.ALL, 0, 10));
+
+        assertEquals(before + 1, count("BookingService", "getAllBooker", "ALL", "CLIENT_ERROR"));
+    }
+
+    private long count(String service, String method, String state, String outcome) {
+        val timer = registry.find(ServiceMetricsAspect.METRIC)
+                .tags("service", service, "method", method, "state", state, "outcome", outcome)
+                .timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.util.batch;
+
+import lombok.val;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+class ChunkedWriterTest {
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private UserRepository userRepository;
+
+    @AfterEach
+    public void cleanUpEach() {
+        userRepository.deleteAll();
+    }
+
+    @DisplayName("Строки пишутся порциями в отдельных транзакциях, ошибка откатывает только свою порцию")
+    @Test
+    void shouldRollBackOnlyFailedChunk() {
+        val properties = new BatchProperties();
+        properties.setChunkSize(2);
+        val underTest = new ChunkedWriter(transactionManager, properties);
+        val names = List.of("Ivan", "Petr", "skip", "Anna", "fail", "Olga");
+        val results = ChunkedWriter.<String>results(names.size());
+        results.set(2, BatchResult.failed(2, HttpStatus.BAD_REQUEST, "skipped"));
+
+        underTest.write(names, results, chunk -> {
+            chunk.forEach(name -> {
+                val user = new User();
+                user.setName(name);
+                user.setEmail(name + "@yandex.ru");
+                userRepository.save(user);
+            });
+            if (chunk.contains("fail")) {
+                throw new IllegalStateException("chunk failed");
+            }
+            return chunk;
+        });
+
+        assertEquals(List.of(201, 201, 400, 500, 500, 201),
+                results.stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+        assertEquals("Petr", results.get(1).getResult());
+        assertNull(results.get(3).getResult());
+        assertEquals(ChunkedWriter.ERROR_MESSAGE, results.get(4).getError());
+        val saved = userRepository.findAll().stream().map(User::getName).collect(Collectors.toList());
+        assertEquals(3, saved.size());
+        assertTrue(saved.containsAll(List.of("Ivan", "Petr", "Olga")));
+    }
+
+    @DisplayName("Нарушение ограничения отдаётся как конфликт без текста SQL")
+    @Test
+    void shouldHideConstraintDetails() {
+        val properties = new BatchProperties();
+        properties.setChunkSize(2);
+        val underTest = new ChunkedWriter(transactionManager, properties);
+        val names = List.of("Ivan", "Ivan");
+        val results = ChunkedWriter.<String>results(names.size());
+
+        underTest.write(names, results, chunk -> {
+            chunk.forEach(name -> {
+                val user = new User();
+                user.setName(name);
+                user.setEmail(name + "@yandex.ru");
+                userRepository.saveAndFlush(user);
+            });
+            return chunk;
+        });
+
+        assertEquals(List.of(409, 409), results.stream().map(BatchResult::getStatus).collect(Collectors.toList()));
+        assertEquals(ChunkedWriter.CONFLICT_MESSAGE, results.get(0).getError());
+        assertTrue(userRepository.findAll().isEmpty());
+    }
+}
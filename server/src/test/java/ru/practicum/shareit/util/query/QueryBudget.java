@@ -0,0 +1,46 @@
+package ru.practicum.shareit.util.query;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import java.util.function.ToIntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * MockMvc matchers pinning the query budget of an endpoint. They read the count the
+ * {@link QueryBudgetInterceptor} leaves on the request, so the test has to run the whole application
+ * ({@code @SpringBootTest} with {@code @AutoConfigureMockMvc}): {@code .andExpect(QueryBudget.statements(2))}.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher statements(int max) {
+        return atMost("statements", QueryCount::getStatements, max);
+    }
+
+    public static ResultMatcher entityLoads(int max) {
+        return atMost("entity loads", QueryCount::getEntityLoads, max);
+    }
+
+    public static ResultMatcher collectionFetches(int max) {
+        return atMost("collection fetches", QueryCount::getCollectionFetches, max);
+    }
+
+    private static ResultMatcher atMost(String what, ToIntFunction<QueryCount> counter, int max) {
+        return result -> {
+            var actual = counter.applyAsInt(countOf(result));
+            assertTrue(actual <= max, String.format("%s %s: expected at most %d %s but was %d",
+                    result.getRequest().getMethod(), result.getRequest().getRequestURI(), max, what, actual));
+        };
+    }
+
+    private static QueryCount countOf(MvcResult result) {
+        var count = (QueryCount) result.getRequest().getAttribute(QueryBudgetInterceptor.ATTRIBUTE);
+        assertNotNull(count, "no query count recorded, is the request handled by the full application?");
+        return count;
+    }
+}